@@ -0,0 +1,56 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.exceptions.ValidationException;
+import ru.practicum.shareit.utility.FieldValidator;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+// Проверка email при изменении пользователя: прежний вариант с компиляцией шаблона на каждый вызов
+// в сравнении с FieldValidator, где шаблон скомпилирован заранее
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmailValidationBenchmark {
+
+    private String validEmail = "user.name@example.com";
+    private String invalidEmail = "user name@example";
+
+    @Benchmark
+    public boolean compileOnEveryCall() {
+        return Pattern.compile(FieldValidator.EMAIL_REGEXP).matcher(validEmail).matches();
+    }
+
+    @Benchmark
+    public void precompiledValid() {
+        FieldValidator.checkEmailIfPresent(validEmail);
+    }
+
+    @Benchmark
+    public Object precompiledInvalid() {
+        try {
+            FieldValidator.checkEmailIfPresent(invalidEmail);
+            return null;
+        } catch (ValidationException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public void notBlank() {
+        FieldValidator.checkNotBlank(validEmail, "email", "Email пользователя не может быть пустым!");
+    }
+
+}
@@ -0,0 +1,163 @@
+package ru.practicum.shareit.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.client.HttpMessageConverterExtractor;
+import org.springframework.web.client.RestTemplate;
+import ru.practicum.shareit.item.dto.CommentResponseDto;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Передача ответа сервера клиенту шлюзом через те же преобразователи, что и в шлюзе: тело ответа
+// RestTemplate извлекается HttpMessageConverterExtractor (Object - через Jackson, byte[] - через
+// ByteArrayHttpMessageConverter) и записывается в ответ первым подходящим преобразователем, как это делает
+// Spring MVC для ResponseEntity<Object>. Сравниваются shareit-gateway.pass-through=false и true.
+// Аллокации на операцию: java -jar benchmarks/target/benchmarks.jar GatewayRelay -prof gc
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GatewayRelayBenchmark {
+
+    @Param({"1", "20", "1000"})
+    private int size;
+
+    private List<HttpMessageConverter<?>> converters;
+    private HttpMessageConverterExtractor<Object> parsedExtractor;
+    private HttpMessageConverterExtractor<byte[]> passThroughExtractor;
+    private byte[] serverResponse;
+
+    @Setup
+    public void setUp() throws IOException {
+        List<ItemResponseDto> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            ItemResponseDto item = new ItemResponseDto((long) i, "Дрель " + i,
+                    "Аккумуляторная дрель номер " + i, true, null);
+            CommentResponseDto comment = new CommentResponseDto();
+            comment.setId(i);
+            comment.setText("Отличная дрель");
+            comment.setAuthorName("user" + i);
+            comment.setCreated("2024-01-01T12:00:00");
+            item.setComments(List.of(comment));
+            items.add(item);
+        }
+        serverResponse = new ObjectMapper().writeValueAsBytes(items);
+
+        converters = new RestTemplate().getMessageConverters();
+        parsedExtractor = new HttpMessageConverterExtractor<>(Object.class, converters);
+        passThroughExtractor = new HttpMessageConverterExtractor<>(byte[].class, converters);
+    }
+
+    @Benchmark
+    public void parsedRelay(Blackhole blackhole) throws IOException {
+        Object body = parsedExtractor.extractData(new ServerResponse(serverResponse));
+        blackhole.consume(body);
+        blackhole.consume(write(body));
+    }
+
+    @Benchmark
+    public void passThroughRelay(Blackhole blackhole) throws IOException {
+        byte[] body = passThroughExtractor.extractData(new ServerResponse(serverResponse));
+        blackhole.consume(body);
+        blackhole.consume(write(body));
+    }
+
+    @SuppressWarnings("unchecked")
+    private HttpHeaders write(Object body) throws IOException {
+        ClientResponse response = new ClientResponse();
+        for (HttpMessageConverter<?> converter : converters) {
+            if (converter.canWrite(body.getClass(), MediaType.APPLICATION_JSON)) {
+                ((HttpMessageConverter<Object>) converter).write(body, MediaType.APPLICATION_JSON, response);
+                return response.getHeaders();
+            }
+        }
+        throw new IllegalStateException("Нет преобразователя для " + body.getClass());
+    }
+
+    // Ответ сервера, прочитанный шлюзом
+    private static class ServerResponse implements ClientHttpResponse {
+
+        private final HttpHeaders headers = new HttpHeaders();
+        private final InputStream body;
+
+        ServerResponse(byte[] body) {
+            this.body = new ByteArrayInputStream(body);
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            headers.setContentLength(body.length);
+        }
+
+        @Override
+        public HttpStatus getStatusCode() {
+            return HttpStatus.OK;
+        }
+
+        @Override
+        public int getRawStatusCode() {
+            return HttpStatus.OK.value();
+        }
+
+        @Override
+        public String getStatusText() {
+            return HttpStatus.OK.getReasonPhrase();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public InputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public void close() {
+        }
+
+    }
+
+    // Ответ шлюза клиенту; поток сервлета не сохраняет записанное тело
+    private static class ClientResponse implements HttpOutputMessage {
+
+        private final HttpHeaders headers = new HttpHeaders();
+
+        @Override
+        public OutputStream getBody() {
+            return OutputStream.nullOutputStream();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+    }
+
+}
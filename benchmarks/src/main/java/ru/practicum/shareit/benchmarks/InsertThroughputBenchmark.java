@@ -0,0 +1,131 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.dialect.H2Dialect;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongFunction;
+
+// Вставка пакета сущностей в одной транзакции: прежняя генерация id через IDENTITY (Hibernate выполняет
+// INSERT сразу при persist, по одному запросу на строку, пакетная вставка JDBC отключена) против
+// последовательности с выделением блоками по 50 (сущность User сервера) и hibernate.jdbc.batch_size=50.
+// База - H2 в памяти, поэтому результат показывает число обращений к БД без сетевой задержки;
+// на PostgreSQL по сети разница больше
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InsertThroughputBenchmark {
+
+    @Param({"50", "500"})
+    private int rows;
+
+    private SessionFactory sessionFactory;
+    private long sequence;
+
+    @Setup
+    public void setUp() {
+        StandardServiceRegistry registry = new StandardServiceRegistryBuilder()
+                .applySetting(AvailableSettings.URL, "jdbc:h2:mem:insert-benchmark;DB_CLOSE_DELAY=-1")
+                .applySetting(AvailableSettings.USER, "sa")
+                .applySetting(AvailableSettings.PASS, "")
+                .applySetting(AvailableSettings.DIALECT, H2Dialect.class.getName())
+                .applySetting(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .applySetting(AvailableSettings.STATEMENT_BATCH_SIZE, 50)
+                .applySetting(AvailableSettings.ORDER_INSERTS, true)
+                .build();
+        sessionFactory = new MetadataSources(registry)
+                .addAnnotatedClass(User.class)
+                .addAnnotatedClass(IdentityUser.class)
+                .buildMetadata()
+                .buildSessionFactory();
+    }
+
+    // Таблицы очищаются перед каждой итерацией, чтобы рост индексов не искажал измерения
+    @Setup(Level.Iteration)
+    public void clearTables() {
+        try (Session session = sessionFactory.openSession()) {
+            Transaction transaction = session.beginTransaction();
+            session.createQuery("DELETE FROM User").executeUpdate();
+            session.createQuery("DELETE FROM IdentityUser").executeUpdate();
+            transaction.commit();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public void identityInsert() {
+        insert(number -> {
+            IdentityUser user = new IdentityUser();
+            user.name = "user" + number;
+            user.email = "user" + number + "@example.com";
+            return user;
+        });
+    }
+
+    @Benchmark
+    public void pooledSequenceBatchInsert() {
+        insert(number -> {
+            User user = new User();
+            user.setName("user" + number);
+            user.setEmail("user" + number + "@example.com");
+            return user;
+        });
+    }
+
+    private void insert(LongFunction<Object> entityFactory) {
+        try (Session session = sessionFactory.openSession()) {
+            Transaction transaction = session.beginTransaction();
+            for (int i = 0; i < rows; i++) {
+                session.persist(entityFactory.apply(sequence++));
+            }
+            transaction.commit();
+        }
+    }
+
+    // Отображение таблицы пользователей с прежней стратегией генерации id
+    @Entity(name = "IdentityUser")
+    @Table(name = "identity_users")
+    public static class IdentityUser {
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        Long id;
+        @Column(name = "name", nullable = false)
+        String name;
+        @Column(name = "email", nullable = false, unique = true)
+        String email;
+    }
+
+}
@@ -0,0 +1,85 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.ItemAvailabilityIndex;
+import ru.practicum.shareit.item.dto.AvailabilityWindowDto;
+import ru.practicum.shareit.item.model.Item;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Поиск свободных периодов вещи по индексу подтвержденных бронирований.
+// Фильтрация бронирований по времени (filterBookings) перенесена в запросы к БД и здесь не измеряется
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemAvailabilityBenchmark {
+
+    private static final long ITEM_ID = 1L;
+
+    @Param({"100", "10000"})
+    private int bookingCount;
+
+    private ItemAvailabilityIndex index;
+    private LocalDateTime from;
+    private LocalDateTime to;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        Item item = new Item();
+        item.setId(ITEM_ID);
+
+        List<Booking> bookings = new ArrayList<>(bookingCount);
+        for (int i = 0; i < bookingCount; i++) {
+            Booking booking = new Booking();
+            booking.setId((long) i);
+            booking.setItem(item);
+            booking.setState(BookingState.APPROVED);
+            booking.setStart(start.plusHours(3L * i));
+            booking.setEnd(start.plusHours(3L * i + 2));
+            bookings.add(booking);
+        }
+
+        // Из репозитория индексу нужен только список подтвержденных бронирований вещи
+        BookingRepository repository = (BookingRepository) Proxy.newProxyInstance(
+                BookingRepository.class.getClassLoader(),
+                new Class<?>[] {BookingRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("getApprovedItemBookings")) {
+                        return bookings;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        index = new ItemAvailabilityIndex(repository);
+
+        from = start.plusHours(3L * bookingCount / 2);
+        to = from.plusDays(1);
+        index.getFreeWindows(ITEM_ID, from, to);
+    }
+
+    @Benchmark
+    public List<AvailabilityWindowDto> getFreeWindows() {
+        return index.getFreeWindows(ITEM_ID, from, to);
+    }
+
+}
@@ -0,0 +1,121 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.item.dto.ItemMapper;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.dto.ItemRequestMapper;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Преобразование страницы сущностей в DTO ответа: на каждую строку форматируются даты и создаются вложенные объекты
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"20", "1000"})
+    private int size;
+
+    private List<Booking> bookings;
+    private List<Item> items;
+    private List<ItemRequest> requests;
+    private BookingDto bookingDto;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.of(2024, 1, 1, 12, 0);
+        User owner = new User();
+        owner.setId(1L);
+        owner.setName("owner");
+        owner.setEmail("owner@example.com");
+
+        bookings = new ArrayList<>(size);
+        items = new ArrayList<>(size);
+        requests = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Item item = new Item();
+            item.setId((long) i);
+            item.setName("Дрель " + i);
+            item.setDescription("Аккумуляторная дрель номер " + i);
+            item.setAvailable(true);
+            item.setOwner(owner);
+            items.add(item);
+
+            Booking booking = new Booking();
+            booking.setId((long) i);
+            booking.setStart(now.plusHours(i));
+            booking.setEnd(now.plusHours(i + 1));
+            booking.setState(BookingState.APPROVED);
+            booking.setItem(item);
+            booking.setUser(owner);
+            bookings.add(booking);
+
+            ItemRequest request = new ItemRequest();
+            request.setId((long) i);
+            request.setDescription("Нужна дрель " + i);
+            request.setCreated(now.minusDays(i));
+            request.setUser(owner);
+            requests.add(request);
+        }
+
+        bookingDto = new BookingDto();
+        bookingDto.setItemId(1L);
+        bookingDto.setStart("2024-01-01T12:00:00");
+        bookingDto.setEnd("2024-01-02T12:00:00");
+    }
+
+    @Benchmark
+    public void mapBookingToResponse(Blackhole blackhole) {
+        for (Booking booking : bookings) {
+            BookingResponseDto dto = BookingMapper.mapBookingToResponse(booking);
+            blackhole.consume(dto);
+        }
+    }
+
+    @Benchmark
+    public Booking mapDtoToBooking() {
+        return BookingMapper.mapDtoToBooking(bookingDto);
+    }
+
+    @Benchmark
+    public void mapItemToDto(Blackhole blackhole) {
+        for (Item item : items) {
+            ItemResponseDto dto = ItemMapper.mapItemToDto(item);
+            blackhole.consume(dto);
+        }
+    }
+
+    @Benchmark
+    public void mapRequestWithAnswerDto(Blackhole blackhole) {
+        List<ItemResponseDto> answers = List.of();
+        for (ItemRequest request : requests) {
+            blackhole.consume(ItemRequestMapper.mapRequestWithAnswerDto(request, answers));
+        }
+    }
+
+}
@@ -0,0 +1,62 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.utility.PageCalc;
+import ru.practicum.shareit.utility.PageCursor;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+// Разбор параметров пагинации выполняется на каждый запрос списка
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PageCalcBenchmark {
+
+    private Integer from;
+    private Integer size;
+    private PageCursor cursor;
+    private String encodedCursor;
+
+    @Setup
+    public void setUp() {
+        from = 40;
+        size = 20;
+        cursor = PageCursor.of(LocalDateTime.of(2024, 1, 1, 12, 0), 12345L);
+        encodedCursor = cursor.encode();
+    }
+
+    @Benchmark
+    public Pageable getPageableByOffset() {
+        return PageCalc.getPageable(from, size);
+    }
+
+    @Benchmark
+    public Pageable getPageableByCursor() {
+        return PageCalc.getPageable(null, size, cursor);
+    }
+
+    @Benchmark
+    public String encodeCursor() {
+        return cursor.encode();
+    }
+
+    @Benchmark
+    public PageCursor decodeCursor() {
+        return PageCursor.decodeTimed(encodedCursor);
+    }
+
+}
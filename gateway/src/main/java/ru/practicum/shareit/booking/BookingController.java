@@ -7,12 +7,14 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.util.List;
 
 @Controller
 @RequestMapping(path = "/bookings")
@@ -25,7 +27,7 @@ public class BookingController {
 
 	// POST /bookings - добавление бронирования
 	@PostMapping
-	public ResponseEntity<Object> addBooking(
+	public Mono<ResponseEntity<Object>> addBooking(
 			@RequestHeader("X-Sharer-User-Id") long userId,
 			@RequestBody @Valid BookItemRequestDto requestDto
 	) {
@@ -33,9 +35,20 @@ public class BookingController {
 		return bookingClient.addBooking(userId, requestDto);
 	}
 
+	// POST /bookings/batch - пакетное бронирование; строки пакета проверяются сервером,
+	// чтобы ошибка в одной строке не отклоняла весь пакет
+	@PostMapping("/batch")
+	public Mono<ResponseEntity<Object>> addBookings(
+			@RequestHeader("X-Sharer-User-Id") long userId,
+			@RequestBody List<BookItemRequestDto> requestDtoList
+	) {
+		log.info("Creating bookings batch, count={}, userId={}", requestDtoList.size(), userId);
+		return bookingClient.addBookings(userId, requestDtoList);
+	}
+
 	// PATCH /bookings/{bookingId}?approved={approved} - подтверждение бронирования
 	@PatchMapping("/{bookingId}")
-	public ResponseEntity<Object> approveBooking(
+	public Mono<ResponseEntity<Object>> approveBooking(
 			@RequestHeader("X-Sharer-User-Id") Long userId,
 			@PathVariable Long bookingId,
 			@RequestParam Boolean approved
@@ -48,7 +61,7 @@ public class BookingController {
 
 	// GET /bookings/{bookingId} - получение данных о бронировании
 	@GetMapping("/{bookingId}")
-	public ResponseEntity<Object> getBooking(
+	public Mono<ResponseEntity<Object>> getBooking(
 			@RequestHeader("X-Sharer-User-Id") long userId,
 			@PathVariable Long bookingId
 	) {
@@ -58,30 +71,34 @@ public class BookingController {
 
 	// GET /bookings?state={state} - получение списка всех бронирований текущего пользователя
 	@GetMapping
-	public ResponseEntity<Object> getUserBookings(
+	public Mono<ResponseEntity<Object>> getUserBookings(
 			@RequestHeader("X-Sharer-User-Id") long userId,
 			@RequestParam(name = "state", defaultValue = "all") String stateParam,
 			@PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-			@Positive @RequestParam(name = "size", defaultValue = "10") Integer size
+			@Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+			@RequestParam(name = "after", required = false) String after
 	) {
 		BookingState state = BookingState.from(stateParam)
 				.orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
-		log.info("Get user booking with state {}, userId={}, from={}, size={}", stateParam, userId, from, size);
-		return bookingClient.getUserBookings(userId, state, from, size);
+		log.info("Get user booking with state {}, userId={}, from={}, size={}, after={}",
+				stateParam, userId, from, size, after);
+		return bookingClient.getUserBookings(userId, state, from, size, after);
 	}
 
 	// GET /bookings/owner?state={state} - получение списка бронирований для всех вещей владельца
 	@GetMapping("/owner")
-	public ResponseEntity<Object> getOwnerBookings(
+	public Mono<ResponseEntity<Object>> getOwnerBookings(
 			@RequestHeader("X-Sharer-User-Id") long userId,
 			@RequestParam(name = "state", defaultValue = "all") String stateParam,
 			@PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-			@Positive @RequestParam(name = "size", defaultValue = "10") Integer size
+			@Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+			@RequestParam(name = "after", required = false) String after
 	) {
 		BookingState state = BookingState.from(stateParam)
 				.orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
-		log.info("Get owner booking with state {}, userId={}, from={}, size={}", stateParam, userId, from, size);
-		return bookingClient.getOwnerBookings(userId, state, from, size);
+		log.info("Get owner booking with state {}, userId={}, from={}, size={}, after={}",
+				stateParam, userId, from, size, after);
+		return bookingClient.getOwnerBookings(userId, state, from, size, after);
 	}
 
 }
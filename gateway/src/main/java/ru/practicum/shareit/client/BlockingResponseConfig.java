@@ -0,0 +1,94 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodReturnValueHandler;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.servlet.mvc.method.annotation.HttpEntityMethodProcessor;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+
+// При блокирующем транспорте Mono контроллера вычисляется сразу в потоке запроса (Mono.fromCallable), и его
+// асинхронная обработка Spring MVC только добавляет запуск AsyncContext и повторную диспетчеризацию запроса.
+// Поэтому Mono<ResponseEntity> разворачивается в потоке контроллера и записывается как обычный ResponseEntity;
+// при транспорте reactive Mono по-прежнему обрабатывается асинхронно
+@Configuration
+@ConditionalOnProperty(name = "shareit-gateway.transport", havingValue = "blocking", matchIfMissing = true)
+public class BlockingResponseConfig implements InitializingBean {
+
+    private final RequestMappingHandlerAdapter handlerAdapter;
+
+    public BlockingResponseConfig(RequestMappingHandlerAdapter handlerAdapter) {
+        this.handlerAdapter = handlerAdapter;
+    }
+
+    // Обработчик ставится первым, иначе Mono перехватит встроенный ReactiveTypeHandler
+    @Override
+    public void afterPropertiesSet() {
+        List<HandlerMethodReturnValueHandler> handlers = new ArrayList<>(handlerAdapter.getReturnValueHandlers());
+        HandlerMethodReturnValueHandler entityHandler = handlers.stream()
+                .filter(HttpEntityMethodProcessor.class::isInstance)
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Не найден обработчик ResponseEntity"));
+        handlers.add(0, new BlockingEntityReturnValueHandler(entityHandler));
+        handlerAdapter.setReturnValueHandlers(handlers);
+    }
+
+    private static class BlockingEntityReturnValueHandler implements HandlerMethodReturnValueHandler {
+
+        private final HandlerMethodReturnValueHandler entityHandler;
+
+        BlockingEntityReturnValueHandler(HandlerMethodReturnValueHandler entityHandler) {
+            this.entityHandler = entityHandler;
+        }
+
+        @Override
+        public boolean supportsReturnType(MethodParameter returnType) {
+            ResolvableType type = ResolvableType.forMethodParameter(returnType);
+            return Mono.class.isAssignableFrom(type.toClass())
+                    && ResponseEntity.class.isAssignableFrom(type.getGeneric().toClass());
+        }
+
+        @Override
+        public void handleReturnValue(@Nullable Object returnValue, MethodParameter returnType,
+                                      ModelAndViewContainer mavContainer, NativeWebRequest webRequest)
+                throws Exception {
+            Object entity = returnValue != null ? ((Mono<?>) returnValue).block() : null;
+            entityHandler.handleReturnValue(entity, new EntityReturnType(returnType), mavContainer, webRequest);
+        }
+
+    }
+
+    // Тип значения Mono (ResponseEntity<Object>) вместо Mono: по нему выбирается преобразователь тела ответа
+    private static class EntityReturnType extends MethodParameter {
+
+        private final ResolvableType entityType;
+
+        EntityReturnType(MethodParameter original) {
+            super(original);
+            this.entityType = ResolvableType.forMethodParameter(original).getGeneric();
+        }
+
+        @Override
+        public Class<?> getParameterType() {
+            return entityType.toClass();
+        }
+
+        @Override
+        public Type getGenericParameterType() {
+            return entityType.getType();
+        }
+
+    }
+
+}
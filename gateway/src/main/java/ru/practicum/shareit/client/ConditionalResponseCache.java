@@ -0,0 +1,64 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+// Ограниченный кэш ответов сервера с ETag. Ответ из кэша отдается только после того, как сервер
+// подтвердил его актуальность ответом 304 на запрос с If-None-Match, поэтому устаревшие данные не возвращаются
+@Component
+public class ConditionalResponseCache {
+
+    private final Cache<String, CachedResponse> cache;
+
+    public ConditionalResponseCache(
+            @Value("${shareit-gateway.response-cache.max-size:10000}") long maxSize,
+            @Value("${shareit-gateway.response-cache.expire-after-access-ms:600000}") long expireAfterAccess) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(Duration.ofMillis(expireAfterAccess))
+                .build();
+    }
+
+    @Nullable
+    public CachedResponse get(String key) {
+        return cache.getIfPresent(key);
+    }
+
+    // Запоминает успешный ответ с ETag; любой другой ответ удаляет запись, чтобы не проверять заведомо старую
+    public void update(String key, ResponseEntity<Object> response) {
+        String eTag = response.getHeaders().getETag();
+        if (response.getStatusCode() == HttpStatus.OK && eTag != null && !eTag.startsWith("W/")) {
+            cache.put(key, new CachedResponse(eTag, response.getHeaders().getContentType(), response.getBody()));
+        } else {
+            cache.invalidate(key);
+        }
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class CachedResponse {
+        private final String eTag;
+        @Nullable
+        private final MediaType contentType;
+        private final Object body;
+
+        public ResponseEntity<Object> toResponse() {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setETag(eTag);
+            headers.setContentType(contentType);
+            return new ResponseEntity<>(body, headers, HttpStatus.OK);
+        }
+    }
+
+}
@@ -0,0 +1,79 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import java.util.concurrent.TimeUnit;
+
+// Единый пул HTTP-соединений шлюза с сервером: все клиенты (BaseClient) работают через одну фабрику запросов.
+// Все запросы идут на один адрес сервера, поэтому лимит на маршрут близок к общему лимиту
+@Configuration
+public class HttpClientConfig {
+
+    @Value("${shareit-gateway.http-client.max-total:200}")
+    private int maxTotal;
+
+    @Value("${shareit-gateway.http-client.max-per-route:200}")
+    private int maxPerRoute;
+
+    @Value("${shareit-gateway.http-client.connect-timeout-ms:2000}")
+    private int connectTimeout;
+
+    @Value("${shareit-gateway.http-client.connection-request-timeout-ms:2000}")
+    private int connectionRequestTimeout;
+
+    @Value("${shareit-gateway.http-client.read-timeout-ms:30000}")
+    private int readTimeout;
+
+    @Value("${shareit-gateway.http-client.idle-timeout-ms:30000}")
+    private long idleTimeout;
+
+    @Value("${shareit-gateway.http-client.validate-after-inactivity-ms:2000}")
+    private int validateAfterInactivity;
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager shareItServerConnectionManager() {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(maxTotal);
+        connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+        connectionManager.setValidateAfterInactivity(validateAfterInactivity);
+        return connectionManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient shareItServerHttpClient(PoolingHttpClientConnectionManager connectionManager) {
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout(connectTimeout)
+                .setConnectionRequestTimeout(connectionRequestTimeout)
+                .setSocketTimeout(readTimeout)
+                .build();
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .setKeepAliveStrategy(DefaultConnectionKeepAliveStrategy.INSTANCE)
+                .evictExpiredConnections()
+                .evictIdleConnections(idleTimeout, TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    @Bean
+    public HttpComponentsClientHttpRequestFactory shareItServerRequestFactory(CloseableHttpClient httpClient) {
+        return new HttpComponentsClientHttpRequestFactory(httpClient);
+    }
+
+    // Метрики пула: httpcomponents.httpclient.pool.total.max, .total.connections (leased/available), .total.pending
+    @Bean
+    public MeterBinder shareItServerConnectionPoolMetrics(PoolingHttpClientConnectionManager connectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "shareit-server");
+    }
+
+}
@@ -0,0 +1,54 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
+
+// Блокирующий транспорт: запрос к серверу выполняется в потоке обработки запроса шлюза через общий пул
+// соединений (HttpClientConfig). Mono вычисляется при подписке, т.е. сразу в потоке контроллера,
+// и ответ записывается без асинхронной обработки (BlockingResponseConfig)
+@Component
+@ConditionalOnProperty(name = "shareit-gateway.transport", havingValue = "blocking", matchIfMissing = true)
+public class RestTemplateTransportFactory implements ServerTransportFactory {
+
+    private final RestTemplateBuilder builder;
+    private final ClientHttpRequestFactory requestFactory;
+    private final Class<Object> responseType;
+
+    public RestTemplateTransportFactory(RestTemplateBuilder builder, ClientHttpRequestFactory requestFactory,
+                                        @Value("${shareit-gateway.pass-through:true}") boolean passThrough) {
+        this.builder = builder;
+        this.requestFactory = requestFactory;
+        this.responseType = ServerTransport.responseType(passThrough);
+    }
+
+    @Override
+    public ServerTransport create(String rootUrl) {
+        RestTemplate rest = builder
+                .uriTemplateHandler(new DefaultUriBuilderFactory(rootUrl))
+                .requestFactory(() -> requestFactory)
+                .build();
+
+        return (method, path, requestEntity, parameters) -> Mono.fromCallable(() -> {
+            try {
+                if (parameters != null) {
+                    return rest.exchange(path, method, requestEntity, responseType, parameters);
+                } else {
+                    return rest.exchange(path, method, requestEntity, responseType);
+                }
+            } catch (HttpStatusCodeException e) {
+                return ResponseEntity.status(e.getStatusCode())
+                        .headers(e.getResponseHeaders())
+                        .body(e.getResponseBodyAsByteArray());
+            }
+        });
+    }
+
+}
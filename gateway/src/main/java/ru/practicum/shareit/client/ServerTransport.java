@@ -0,0 +1,25 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+// Способ передачи запроса шлюза на сервер. Путь задается относительно корня клиента (например, /items),
+// ответ сервера с кодом ошибки возвращается как есть, а не исключением
+public interface ServerTransport {
+
+    Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path, HttpEntity<?> requestEntity,
+                                          @Nullable Map<String, Object> parameters);
+
+    // Тип тела ответа сервера (свойство shareit-gateway.pass-through): byte[] - тело передается клиенту
+    // без разбора и повторной сериализации, Object - разбирается Jackson в дерево LinkedHashMap
+    @SuppressWarnings("unchecked")
+    static Class<Object> responseType(boolean passThrough) {
+        return (Class<Object>) (passThrough ? byte[].class : Object.class);
+    }
+
+}
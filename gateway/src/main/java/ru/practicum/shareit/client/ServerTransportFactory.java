@@ -0,0 +1,9 @@
+package ru.practicum.shareit.client;
+
+// Создает транспорт для клиента с заданным корневым адресом; реализация выбирается
+// свойством shareit-gateway.transport
+public interface ServerTransportFactory {
+
+    ServerTransport create(String rootUrl);
+
+}
@@ -0,0 +1,74 @@
+package ru.practicum.shareit.client;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.Map;
+
+// Неблокирующий транспорт: запрос к серверу выполняется на event loop reactor-netty, поток обработки запроса
+// шлюза освобождается до получения ответа (контроллеры возвращают Mono, Spring MVC обрабатывает их асинхронно).
+// Параметры пула соединений те же, что у блокирующего транспорта
+@Component
+@ConditionalOnProperty(name = "shareit-gateway.transport", havingValue = "reactive")
+public class WebClientTransportFactory implements ServerTransportFactory {
+
+    private final WebClient.Builder builder;
+    private final ConnectionProvider connectionProvider;
+    private final HttpClient httpClient;
+    private final Class<Object> responseType;
+
+    public WebClientTransportFactory(
+            WebClient.Builder builder,
+            @Value("${shareit-gateway.http-client.max-total:200}") int maxTotal,
+            @Value("${shareit-gateway.http-client.connect-timeout-ms:2000}") int connectTimeout,
+            @Value("${shareit-gateway.http-client.connection-request-timeout-ms:2000}") long connectionRequestTimeout,
+            @Value("${shareit-gateway.http-client.read-timeout-ms:30000}") long readTimeout,
+            @Value("${shareit-gateway.http-client.idle-timeout-ms:30000}") long idleTimeout,
+            @Value("${shareit-gateway.pass-through:true}") boolean passThrough
+    ) {
+        this.builder = builder;
+        this.responseType = ServerTransport.responseType(passThrough);
+        this.connectionProvider = ConnectionProvider.builder("shareit-server")
+                .maxConnections(maxTotal)
+                .pendingAcquireTimeout(Duration.ofMillis(connectionRequestTimeout))
+                .maxIdleTime(Duration.ofMillis(idleTimeout))
+                .evictInBackground(Duration.ofMillis(idleTimeout))
+                .metrics(true)
+                .build();
+        this.httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeout)
+                .responseTimeout(Duration.ofMillis(readTimeout));
+    }
+
+    @Override
+    public ServerTransport create(String rootUrl) {
+        WebClient webClient = builder.clone()
+                .baseUrl(rootUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+
+        return (method, path, requestEntity, parameters) -> {
+            WebClient.RequestBodySpec request = webClient.method(method)
+                    .uri(path, parameters != null ? parameters : Map.of())
+                    .headers(headers -> headers.addAll(requestEntity.getHeaders()));
+            WebClient.RequestHeadersSpec<?> spec = requestEntity.getBody() != null
+                    ? request.bodyValue(requestEntity.getBody())
+                    : request;
+            return spec.exchangeToMono(response -> response.toEntity(responseType));
+        };
+    }
+
+    @PreDestroy
+    public void close() {
+        connectionProvider.dispose();
+    }
+
+}
@@ -2,16 +2,17 @@ package ru.practicum.shareit.item;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ConditionalResponseCache;
+import ru.practicum.shareit.client.ServerTransportFactory;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -20,45 +21,55 @@ public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, ServerTransportFactory transportFactory,
+                      ConditionalResponseCache responseCache) {
+        super(transportFactory.create(serverUrl + API_PREFIX), responseCache, API_PREFIX);
     }
 
-    public ResponseEntity<Object> addItem(Long userId, ItemDto dto) {
+    public Mono<ResponseEntity<Object>> addItem(Long userId, ItemDto dto) {
         return post("", userId, dto);
     }
 
-    public ResponseEntity<Object> updateItem(Long userId, Long itemId, ItemDto dto) {
+    public Mono<ResponseEntity<Object>> addItems(Long userId, List<ItemDto> dtoList) {
+        return post("/batch", userId, dtoList);
+    }
+
+    public Mono<ResponseEntity<Object>> updateItem(Long userId, Long itemId, ItemDto dto) {
         return patch("/" + itemId, userId, dto);
     }
 
-    public ResponseEntity<Object> getItem(Long userId, Long itemId) {
-        return get("/" + itemId, userId);
+    public Mono<ResponseEntity<Object>> getItem(Long userId, Long itemId) {
+        return getRevalidated("/" + itemId, userId);
     }
 
-    public ResponseEntity<Object> getOwnerItems(Long userId, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> getOwnerItems(Long userId, Integer from, Integer size, String after) {
         Map<String, Object> parameters = new HashMap<>();
         parameters.put("from", from);
         parameters.put("size", size);
-        return get("?from={from}&size={size}", userId, parameters);
+        return get("?from={from}&size={size}" + afterParameter(parameters, after), userId, parameters);
     }
 
-    public ResponseEntity<Object> searchItems(Long userId, String text, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> searchItems(Long userId, String text, Integer from, Integer size,
+                                                    String after) {
         Map<String, Object> parameters = new HashMap<>();
         parameters.put("text", text);
         parameters.put("from", from);
         parameters.put("size", size);
 
-        return get("/search?text={text}&from={from}&size={size}", userId, parameters);
+        return get("/search?text={text}&from={from}&size={size}" + afterParameter(parameters, after),
+                userId, parameters);
     }
 
-    public ResponseEntity<Object> addComment(Long userId, Long itemId, CommentDto dto) {
+    public Mono<ResponseEntity<Object>> addComment(Long userId, Long itemId, CommentDto dto) {
         return post("/" + itemId + "/comment", userId, dto);
     }
 
+    public Mono<ResponseEntity<Object>> getItemAvailability(Long userId, Long itemId, String from, String to) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "to", to
+        );
+        return get("/" + itemId + "/availability?from={from}&to={to}", userId, parameters);
+    }
+
 }
@@ -6,10 +6,12 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
 import javax.validation.Valid;
+import java.util.List;
 
 @Controller
 @RequestMapping(path = "/items")
@@ -21,7 +23,7 @@ public class ItemController {
     private final ItemClient itemClient;
 
     @PostMapping
-    public ResponseEntity<Object> addItem(
+    public Mono<ResponseEntity<Object>> addItem(
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @Valid @RequestBody ItemDto dto
     ) {
@@ -29,8 +31,18 @@ public class ItemController {
         return itemClient.addItem(userId, dto);
     }
 
+    // Строки пакета проверяются сервером, чтобы ошибка в одной строке не отклоняла весь пакет
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<Object>> addItems(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestBody List<ItemDto> dtoList
+    ) {
+        log.info("POST add items batch with userId {}, count {}", userId, dtoList.size());
+        return itemClient.addItems(userId, dtoList);
+    }
+
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> updateItem(
+    public Mono<ResponseEntity<Object>> updateItem(
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @PathVariable Long itemId,
             @RequestBody ItemDto dto
@@ -41,7 +53,7 @@ public class ItemController {
     }
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> getItem(
+    public Mono<ResponseEntity<Object>> getItem(
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @PathVariable Long itemId
     ) {
@@ -50,32 +62,34 @@ public class ItemController {
     }
 
     @GetMapping
-    public ResponseEntity<Object> getOwnerItems(
+    public Mono<ResponseEntity<Object>> getOwnerItems(
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @RequestParam(required = false) Integer from,
-            @RequestParam(defaultValue = "20") Integer size
+            @RequestParam(defaultValue = "20") Integer size,
+            @RequestParam(required = false) String after
     ) {
         log.info(
-                "GET view owner items with userId {}, from={}, size={}",
-                userId, from, size);
-        return itemClient.getOwnerItems(userId, from, size);
+                "GET view owner items with userId {}, from={}, size={}, after={}",
+                userId, from, size, after);
+        return itemClient.getOwnerItems(userId, from, size, after);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> searchItems(
+    public Mono<ResponseEntity<Object>> searchItems(
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @RequestParam String text,
             @RequestParam(required = false) Integer from,
-            @RequestParam(defaultValue = "20") Integer size
+            @RequestParam(defaultValue = "20") Integer size,
+            @RequestParam(required = false) String after
     ) {
         log.info(
-                "Search items with userId {}, text '{}', from {}, size {}",
-                userId, text, from, size);
-        return itemClient.searchItems(userId, text, from, size);
+                "Search items with userId {}, text '{}', from {}, size {}, after {}",
+                userId, text, from, size, after);
+        return itemClient.searchItems(userId, text, from, size, after);
     }
 
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> addComment(
+    public Mono<ResponseEntity<Object>> addComment(
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @PathVariable Long itemId,
             @Valid @RequestBody CommentDto dto) {
@@ -83,4 +97,15 @@ public class ItemController {
         return itemClient.addComment(userId, itemId, dto);
     }
 
+    @GetMapping("/{itemId}/availability")
+    public Mono<ResponseEntity<Object>> getItemAvailability(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @PathVariable Long itemId,
+            @RequestParam String from,
+            @RequestParam String to
+    ) {
+        log.info("GET item availability with userId {}, itemId {}, from {}, to {}", userId, itemId, from, to);
+        return itemClient.getItemAvailability(userId, itemId, from, to);
+    }
+
 }
@@ -2,12 +2,12 @@ package ru.practicum.shareit.request;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ConditionalResponseCache;
+import ru.practicum.shareit.client.ServerTransportFactory;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import java.util.HashMap;
@@ -19,33 +19,30 @@ public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl,
+                             ServerTransportFactory transportFactory,
+                             ConditionalResponseCache responseCache) {
+        super(transportFactory.create(serverUrl + API_PREFIX), responseCache, API_PREFIX);
     }
 
-    public ResponseEntity<Object> addItemRequest(Long userId, ItemRequestDto dto) {
+    public Mono<ResponseEntity<Object>> addItemRequest(Long userId, ItemRequestDto dto) {
         return post("", userId, dto);
     }
 
-    public ResponseEntity<Object> getOwnItemRequests(Long userId) {
+    public Mono<ResponseEntity<Object>> getOwnItemRequests(Long userId) {
         return get("", userId);
     }
 
-    public ResponseEntity<Object> getAllItemRequests(Long userId, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> getAllItemRequests(Long userId, Integer from, Integer size, String after) {
         Map<String, Object> parameters = new HashMap<>();
         parameters.put("from", from);
         parameters.put("size", size);
 
-        return get("/all?from={from}&size={size}", userId, parameters);
+        return get("/all?from={from}&size={size}" + afterParameter(parameters, after), userId, parameters);
     }
 
-    public ResponseEntity<Object> getItemRequest(Long userId, Long requestId) {
-        return get("/" + requestId, userId);
+    public Mono<ResponseEntity<Object>> getItemRequest(Long userId, Long requestId) {
+        return getRevalidated("/" + requestId, userId);
     }
 
 }
@@ -6,6 +6,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import javax.validation.Valid;
@@ -21,7 +22,7 @@ public class ItemRequestController {
     private final ItemRequestClient requestClient;
 
     @PostMapping
-    public ResponseEntity<Object> addItemRequest(
+    public Mono<ResponseEntity<Object>> addItemRequest(
             @RequestHeader ("X-Sharer-User-Id") Long userId,
             @RequestBody @Valid ItemRequestDto dto
     ) {
@@ -30,7 +31,7 @@ public class ItemRequestController {
     }
 
     @GetMapping
-    public ResponseEntity<Object> getOwnItemRequests(
+    public Mono<ResponseEntity<Object>> getOwnItemRequests(
             @RequestHeader ("X-Sharer-User-Id") Long userId
     ) {
         log.info("GET list own item-requests with userId {}", userId);
@@ -38,19 +39,20 @@ public class ItemRequestController {
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> getAllItemRequests(
+    public Mono<ResponseEntity<Object>> getAllItemRequests(
             @RequestHeader ("X-Sharer-User-Id") Long userId,
             @RequestParam(required = false) @Valid @Min(0) Integer from,
-            @RequestParam(defaultValue = "20") Integer size
+            @RequestParam(defaultValue = "20") Integer size,
+            @RequestParam(required = false) String after
     ) {
         log.info(
-                "GET list users item-requests with userId {}, from {}, size {}",
-                userId, from, size);
-        return requestClient.getAllItemRequests(userId, from, size);
+                "GET list users item-requests with userId {}, from {}, size {}, after {}",
+                userId, from, size, after);
+        return requestClient.getAllItemRequests(userId, from, size, after);
     }
 
     @GetMapping("/{requestId}")
-    public ResponseEntity<Object> getItemRequest(
+    public Mono<ResponseEntity<Object>> getItemRequest(
             @RequestHeader ("X-Sharer-User-Id") Long userId,
             @PathVariable Long requestId
     ) {
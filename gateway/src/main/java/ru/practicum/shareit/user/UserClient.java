@@ -2,12 +2,12 @@ package ru.practicum.shareit.user;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ConditionalResponseCache;
+import ru.practicum.shareit.client.ServerTransportFactory;
 import ru.practicum.shareit.user.dto.UserDto;
 
 @Service
@@ -16,33 +16,29 @@ public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public UserClient(@Value("${shareit-server.url}") String serverUrl, ServerTransportFactory transportFactory,
+                      ConditionalResponseCache responseCache) {
+        super(transportFactory.create(serverUrl + API_PREFIX), responseCache, API_PREFIX);
     }
 
-    public ResponseEntity<Object> addUser(UserDto dto) {
+    public Mono<ResponseEntity<Object>> addUser(UserDto dto) {
         return post("", dto);
     }
 
-    public ResponseEntity<Object> updateUser(UserDto dto, Long userId) {
+    public Mono<ResponseEntity<Object>> updateUser(UserDto dto, Long userId) {
         return patch("/" + userId, userId, dto);
     }
 
-    public ResponseEntity<Object> getUser(Long userId) {
-        return get("/" + userId, userId);
+    public Mono<ResponseEntity<Object>> getUser(Long userId) {
+        return getRevalidated("/" + userId, userId);
     }
 
-    public ResponseEntity<Object> deleteUser(Long userId) {
+    public Mono<ResponseEntity<Object>> deleteUser(Long userId) {
         return delete("/" + userId);
     }
 
-    public ResponseEntity<Object> getAllUsers() {
-        return get("");
+    public Mono<ResponseEntity<Object>> getAllUsers() {
+        return getRevalidated("", null);
     }
 
 }
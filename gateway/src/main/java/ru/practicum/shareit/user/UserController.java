@@ -6,6 +6,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import javax.validation.Valid;
@@ -20,7 +21,7 @@ public class UserController {
     private final UserClient userClient;
 
     @PostMapping
-    public ResponseEntity<Object> addUser(
+    public Mono<ResponseEntity<Object>> addUser(
             @Valid @RequestBody UserDto dto
     ) {
         log.info("POST users with dto {}", dto);
@@ -28,7 +29,7 @@ public class UserController {
     }
 
     @PatchMapping("/{userId}")
-    public ResponseEntity<Object> updateUser(
+    public Mono<ResponseEntity<Object>> updateUser(
             @RequestBody UserDto dto,
             @PathVariable Long userId
     ) {
@@ -37,7 +38,7 @@ public class UserController {
     }
 
     @GetMapping("/{userId}")
-    public ResponseEntity<Object> getUser(
+    public Mono<ResponseEntity<Object>> getUser(
             @PathVariable Long userId
     ) {
         log.info("GET user info with id {}", userId);
@@ -46,13 +47,13 @@ public class UserController {
 
 
     @DeleteMapping("/{userId}")
-    public ResponseEntity<Object> deleteUser(@PathVariable Long userId) {
+    public Mono<ResponseEntity<Object>> deleteUser(@PathVariable Long userId) {
         log.info("DELETE user with id {}", userId);
         return userClient.deleteUser(userId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAllUsers() {
+    public Mono<ResponseEntity<Object>> getAllUsers() {
         log.info("GET users");
         return userClient.getAllUsers();
     }
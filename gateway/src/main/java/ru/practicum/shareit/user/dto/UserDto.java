@@ -13,6 +13,10 @@ public class UserDto {
     private String name;
 
     @NotBlank(message = "Email пользователя не может быть пустым!")
-    @Email(message = "Некорректный email")
+    // Копия шаблона FieldValidator.EMAIL_REGEXP сервера: общего кода у модулей нет, совпадение на одном наборе
+    // адресов проверяют UserDtoTest и FieldValidatorTest. Кроме шаблона @Email выполняет стандартную проверку
+    // Hibernate Validator, поэтому шлюз дополнительно отклоняет, например, точку в начале локальной части.
+    // Шаблон компилируется один раз при инициализации валидатора
+    @Email(regexp = "^[a-zA-Z0-9_!#$%&’*+/=?`{|}~^.-]+@[a-zA-Z0-9.-]+$", message = "Некорректный email")
     private String email;
 }
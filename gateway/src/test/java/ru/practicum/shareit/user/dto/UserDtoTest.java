@@ -0,0 +1,51 @@
+package ru.practicum.shareit.user.dto;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import javax.validation.Validation;
+import javax.validation.Validator;
+import javax.validation.constraints.Email;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Шаблон email шлюза - копия FieldValidator.EMAIL_REGEXP сервера. Первые два набора адресов совпадают
+// с наборами FieldValidatorTest сервера: если шаблоны разойдутся, один из тестов перестанет проходить
+class UserDtoTest {
+
+    private static final Validator VALIDATOR = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @ParameterizedTest
+    @ValueSource(strings = {"user@example.com", "first.last+tag@mail.example.ru", "user_1@localhost",
+            "a!#$%&*/=?^`{|}~-@example.com", "o’neil@example.com", "user@1.2.3.4"})
+    void acceptsEmail(String email) {
+        assertTrue(isValidEmail(email));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "userexample.com", "user@", "@example.com", "user@@example.com",
+            "user name@example.com", "user@exa mple.com", "пользователь@example.com", "user@пример.рф",
+            "user@example_com", "user@example.com "})
+    void rejectsEmail(String email) {
+        assertFalse(isValidEmail(email));
+    }
+
+    // Эти адреса шаблон пропускает, но @Email кроме шаблона применяет стандартную проверку Hibernate Validator
+    // (точки в локальной части, метки домена), поэтому шлюз строже сервера
+    @ParameterizedTest
+    @ValueSource(strings = {".user@example.com", "user.@example.com", "user..name@example.com",
+            "user@example..com", "user@-example.com"})
+    void rejectsEmailAllowedByServerPattern(String email) {
+        assertFalse(isValidEmail(email));
+    }
+
+    // Учитывается только @Email: пустую строку дополнительно отклоняет @NotBlank
+    private static boolean isValidEmail(String email) {
+        UserDto dto = new UserDto();
+        dto.setEmail(email);
+        return VALIDATOR.validateProperty(dto, "email").stream()
+                .noneMatch(violation -> violation.getConstraintDescriptor().getAnnotation() instanceof Email);
+    }
+
+}
@@ -0,0 +1,82 @@
+package ru.practicum.shareit.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Приложение, запущенное из исполняемого jar в отдельном процессе. Сервер и шлюз содержат классы с одинаковыми
+// именами, поэтому в одной JVM их не запустить
+public class ApplicationProcess implements AutoCloseable {
+
+    private final String name;
+    private final Process process;
+
+    private ApplicationProcess(String name, Process process) {
+        this.name = name;
+        this.process = process;
+    }
+
+    public static ApplicationProcess start(String name, Path jar, Path logDir, List<String> arguments)
+            throws IOException {
+        if (!Files.exists(jar)) {
+            throw new IllegalStateException("Не найден jar " + jar.toAbsolutePath() + ", выполните mvn package");
+        }
+        Files.createDirectories(logDir);
+
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-jar");
+        command.add(jar.toString());
+        command.addAll(arguments);
+
+        Path log = logDir.resolve(name + ".log");
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        System.out.printf("Запущен %s (pid %d), журнал: %s%n", name, process.pid(), log.toAbsolutePath());
+        return new ApplicationProcess(name, process);
+    }
+
+    // Приложение считается готовым, когда actuator отвечает на /actuator/health
+    public void awaitReady(String baseUrl, Duration timeout) throws InterruptedException {
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/health"))
+                .timeout(Duration.ofSeconds(2))
+                .build();
+        Instant deadline = Instant.now().plus(timeout);
+        while (Instant.now().isBefore(deadline)) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException(name + " завершился с кодом " + process.exitValue());
+            }
+            try {
+                if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    System.out.printf("%s готов к работе%n", name);
+                    return;
+                }
+            } catch (IOException e) {
+                // Приложение еще не открыло порт
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException(name + " не запустился за " + timeout.toSeconds() + " с");
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(30, TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+        }
+    }
+
+}
@@ -0,0 +1,114 @@
+package ru.practicum.shareit.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+// Наполнение базы: пользователи, их вещи и запросы вещей, бронирования чужих вещей (половина подтверждена).
+// Вещи и бронирования создаются пакетными запросами
+public class DataSeeder {
+
+    static final String[] WORDS = {"дрель", "перфоратор", "лестница", "палатка", "велосипед", "самокат",
+            "пила", "шуруповерт", "котелок", "рюкзак", "проектор", "гитара"};
+
+    private final ShareItApi api;
+    private final LoadTestConfig config;
+    private final Random random = new Random(42);
+
+    private final List<Long> userIds = new ArrayList<>();
+    private final List<Long> itemIds = new ArrayList<>();
+    private final Map<Long, Long> itemOwners = new HashMap<>();
+
+    public DataSeeder(ShareItApi api, LoadTestConfig config) {
+        this.api = api;
+        this.config = config;
+    }
+
+    public List<Long> seed() throws IOException, InterruptedException {
+        long started = System.currentTimeMillis();
+        createUsers();
+        createItemsAndRequests();
+        int bookings = createBookings();
+        System.out.printf("Данные созданы за %d мс: пользователей %d, вещей %d, бронирований %d%n",
+                System.currentTimeMillis() - started, userIds.size(), itemIds.size(), bookings);
+        return userIds;
+    }
+
+    private void createUsers() throws IOException, InterruptedException {
+        for (int i = 0; i < config.getUsers(); i++) {
+            JsonNode user = api.post("/users", null, Map.of(
+                    "name", "user" + i,
+                    "email", "user" + i + "@loadtest.example"));
+            userIds.add(user.get("id").asLong());
+        }
+    }
+
+    private void createItemsAndRequests() throws IOException, InterruptedException {
+        for (long userId : userIds) {
+            List<Map<String, Object>> items = new ArrayList<>();
+            for (int i = 0; i < config.getItemsPerUser(); i++) {
+                String word = WORDS[random.nextInt(WORDS.length)];
+                items.add(Map.of(
+                        "name", word + " " + i,
+                        "description", "Хорошая " + word + ", пользователь " + userId,
+                        "available", random.nextInt(10) != 0));
+            }
+            for (JsonNode row : api.post("/items/batch", userId, items)) {
+                if (row.has("result")) {
+                    long itemId = row.get("result").get("id").asLong();
+                    itemIds.add(itemId);
+                    itemOwners.put(itemId, userId);
+                }
+            }
+
+            for (int i = 0; i < config.getRequestsPerUser(); i++) {
+                api.post("/requests", userId, Map.of(
+                        "description", "Нужна " + WORDS[random.nextInt(WORDS.length)] + " на выходные"));
+            }
+        }
+    }
+
+    // Каждое бронирование получает собственный часовой интервал, поэтому пересечений не возникает
+    private int createBookings() throws IOException, InterruptedException {
+        LocalDateTime base = LocalDateTime.now().plusDays(1).withNano(0);
+        long slot = 0;
+        int created = 0;
+        for (long userId : userIds) {
+            List<Map<String, Object>> bookings = new ArrayList<>();
+            for (int i = 0; i < config.getBookingsPerUser(); i++) {
+                long itemId = itemIds.get(random.nextInt(itemIds.size()));
+                if (itemOwners.get(itemId) == userId) {
+                    continue;
+                }
+                LocalDateTime start = base.plusHours(slot++);
+                bookings.add(Map.of(
+                        "itemId", itemId,
+                        "start", start.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME),
+                        "end", start.plusMinutes(50).format(DateTimeFormatter.ISO_LOCAL_DATE_TIME)));
+            }
+            if (bookings.isEmpty()) {
+                continue;
+            }
+            for (JsonNode row : api.post("/bookings/batch", userId, bookings)) {
+                if (!row.has("result")) {
+                    continue;
+                }
+                created++;
+                JsonNode booking = row.get("result");
+                if (random.nextBoolean()) {
+                    long ownerId = itemOwners.get(booking.get("item").get("id").asLong());
+                    api.patch("/bookings/" + booking.get("id").asLong() + "?approved=true", ownerId);
+                }
+            }
+        }
+        return created;
+    }
+
+}
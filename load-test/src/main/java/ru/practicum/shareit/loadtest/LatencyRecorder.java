@@ -0,0 +1,53 @@
+package ru.practicum.shareit.loadtest;
+
+import java.util.Arrays;
+
+// Накопитель времен ответа одного эндпоинта. Значения хранятся полностью, чтобы перцентили считались точно
+public class LatencyRecorder {
+
+    private final String endpoint;
+    private long[] latencies = new long[1024];
+    private int count;
+    private int errors;
+
+    public LatencyRecorder(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    public synchronized void record(long latencyNanos, boolean success) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = latencyNanos;
+        if (!success) {
+            errors++;
+        }
+    }
+
+    public synchronized void reset() {
+        count = 0;
+        errors = 0;
+    }
+
+    public synchronized String report(double seconds) {
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        return String.format("%-16s %10d %8d %12.1f %10.2f %10.2f %10.2f",
+                endpoint, count, errors, count / seconds,
+                percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 1.0));
+    }
+
+    public static String header() {
+        return String.format("%-16s %10s %8s %12s %10s %10s %10s",
+                "endpoint", "requests", "errors", "req/s", "p50, ms", "p99, ms", "max, ms");
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+
+}
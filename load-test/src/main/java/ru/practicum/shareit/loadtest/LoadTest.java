@@ -0,0 +1,135 @@
+package ru.practicum.shareit.loadtest;
+
+import java.net.URLEncoder;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Нагрузочный тест: запускает сервер на H2 и шлюз, наполняет базу и подает смешанную нагрузку
+// на /bookings, /items/search и /requests/all. Каждый поток работает по замкнутому циклу (следующий запрос
+// после ответа на предыдущий); по итогам печатаются пропускная способность и перцентили по эндпоинтам
+public class LoadTest {
+
+    private static final int PAGE_SIZE = 20;
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = new LoadTestConfig();
+        List<ApplicationProcess> processes = new ArrayList<>();
+        try {
+            if (!config.isExternal()) {
+                startApplications(config, processes);
+            }
+            ShareItApi api = new ShareItApi(config.getGatewayUrl());
+            List<Long> userIds = new DataSeeder(api, config).seed();
+            run(config, api, userIds);
+        } finally {
+            for (ApplicationProcess process : processes) {
+                process.close();
+            }
+        }
+    }
+
+    private static void startApplications(LoadTestConfig config, List<ApplicationProcess> processes)
+            throws Exception {
+        ApplicationProcess server = ApplicationProcess.start("server", config.getServerJar(), config.getLogDir(),
+                List.of(
+                        "--server.port=" + config.getServerPort(),
+                        "--spring.datasource.url=jdbc:h2:mem:shareit;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+                        "--spring.datasource.driverClassName=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--shareit.search.engine=like",
+                        "--shareit.threads=" + config.getServerThreads(),
+                        "--logging.level.ru.practicum.shareit=WARN"));
+        processes.add(server);
+        server.awaitReady("http://localhost:" + config.getServerPort(), Duration.ofMinutes(2));
+
+        ApplicationProcess gateway = ApplicationProcess.start("gateway", config.getGatewayJar(), config.getLogDir(),
+                List.of(
+                        "--server.port=" + config.getGatewayPort(),
+                        "--shareit-server.url=http://localhost:" + config.getServerPort(),
+                        "--shareit-gateway.transport=" + config.getGatewayTransport(),
+                        "--logging.level.org.springframework.web.client.RestTemplate=WARN",
+                        "--logging.level.ru.practicum.shareit=WARN"));
+        processes.add(gateway);
+        gateway.awaitReady(config.getGatewayUrl(), Duration.ofMinutes(2));
+    }
+
+    private static void run(LoadTestConfig config, ShareItApi api, List<Long> userIds) throws InterruptedException {
+        Map<String, LatencyRecorder> recorders = new LinkedHashMap<>();
+        recorders.put("bookings", new LatencyRecorder("/bookings"));
+        recorders.put("search", new LatencyRecorder("/items/search"));
+        recorders.put("requests", new LatencyRecorder("/requests/all"));
+
+        long deadline = System.nanoTime() + config.getWarmup().plus(config.getDuration()).toNanos();
+        ExecutorService executor = Executors.newFixedThreadPool(config.getThreads());
+        for (int i = 0; i < config.getThreads(); i++) {
+            executor.execute(() -> {
+                while (System.nanoTime() < deadline) {
+                    sendRandomRequest(api, userIds, recorders);
+                }
+            });
+        }
+
+        if (!config.isExternal()) {
+            System.out.printf("Потоки сервера: %s, транспорт шлюза: %s%n",
+                    config.getServerThreads(), config.getGatewayTransport());
+        }
+        System.out.printf("Прогрев %d с, потоков: %d%n", config.getWarmup().toSeconds(), config.getThreads());
+        Thread.sleep(config.getWarmup().toMillis());
+        recorders.values().forEach(LatencyRecorder::reset);
+        long measureStart = System.nanoTime();
+
+        System.out.printf("Измерение %d с%n", config.getDuration().toSeconds());
+        executor.shutdown();
+        executor.awaitTermination(config.getDuration().toSeconds() + 60, TimeUnit.SECONDS);
+        double seconds = (System.nanoTime() - measureStart) / 1_000_000_000.0;
+
+        System.out.println(LatencyRecorder.header());
+        recorders.values().forEach(recorder -> System.out.println(recorder.report(seconds)));
+    }
+
+    // Доли запросов: списки бронирований 40%, поиск 40%, чужие запросы вещей 20%
+    private static void sendRandomRequest(ShareItApi api, List<Long> userIds, Map<String, LatencyRecorder> recorders) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long userId = userIds.get(random.nextInt(userIds.size()));
+        int from = random.nextInt(3) * PAGE_SIZE;
+        int choice = random.nextInt(10);
+
+        String key;
+        String path;
+        if (choice < 4) {
+            key = "bookings";
+            path = (random.nextBoolean() ? "/bookings" : "/bookings/owner")
+                    + "?state=ALL&from=" + from + "&size=" + PAGE_SIZE;
+        } else if (choice < 8) {
+            key = "search";
+            String text = DataSeeder.WORDS[random.nextInt(DataSeeder.WORDS.length)];
+            path = "/items/search?text=" + URLEncoder.encode(text, StandardCharsets.UTF_8)
+                    + "&from=" + from + "&size=" + PAGE_SIZE;
+        } else {
+            key = "requests";
+            path = "/requests/all?from=" + from + "&size=" + PAGE_SIZE;
+        }
+
+        long started = System.nanoTime();
+        boolean success;
+        try {
+            HttpResponse<String> response = api.get(path, userId);
+            success = response.statusCode() == 200;
+        } catch (Exception e) {
+            success = false;
+        }
+        recorders.get(key).record(System.nanoTime() - started, success);
+    }
+
+}
@@ -0,0 +1,99 @@
+package ru.practicum.shareit.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+// Параметры нагрузочного теста задаются системными свойствами: java -Dduration=120 -Dthreads=64 -jar load-test.jar
+public class LoadTestConfig {
+
+    private final Path serverJar = Path.of(System.getProperty("server.jar",
+            "server/target/shareit-server-0.0.1-SNAPSHOT-exec.jar"));
+    private final Path gatewayJar = Path.of(System.getProperty("gateway.jar",
+            "gateway/target/shareit-gateway-0.0.1-SNAPSHOT.jar"));
+    private final Path logDir = Path.of(System.getProperty("log.dir", "load-test/target/logs"));
+
+    // external=true - приложения уже запущены, тест только подает нагрузку на gateway.url
+    private final boolean external = Boolean.getBoolean("external");
+    private final int serverPort = Integer.getInteger("server.port", 9090);
+    private final int gatewayPort = Integer.getInteger("gateway.port", 8080);
+    private final String gatewayUrl = System.getProperty("gateway.url", "http://localhost:" + gatewayPort);
+    // platform или virtual (shareit.threads сервера); virtual требует запуска теста на JDK 21+
+    private final String serverThreads = System.getProperty("server.threads", "platform");
+    // blocking или reactive (shareit-gateway.transport); при высокой конкурентности reactive не дает
+    // пулу потоков шлюза ограничить нагрузку, доходящую до сервера
+    private final String gatewayTransport = System.getProperty("gateway.transport", "blocking");
+
+    private final int users = Integer.getInteger("users", 200);
+    private final int itemsPerUser = Integer.getInteger("items.per.user", 20);
+    private final int requestsPerUser = Integer.getInteger("requests.per.user", 5);
+    private final int bookingsPerUser = Integer.getInteger("bookings.per.user", 20);
+
+    private final int threads = Integer.getInteger("threads", 32);
+    private final Duration warmup = Duration.ofSeconds(Integer.getInteger("warmup", 15));
+    private final Duration duration = Duration.ofSeconds(Integer.getInteger("duration", 60));
+
+    public Path getServerJar() {
+        return serverJar;
+    }
+
+    public Path getGatewayJar() {
+        return gatewayJar;
+    }
+
+    public Path getLogDir() {
+        return logDir;
+    }
+
+    public boolean isExternal() {
+        return external;
+    }
+
+    public int getServerPort() {
+        return serverPort;
+    }
+
+    public int getGatewayPort() {
+        return gatewayPort;
+    }
+
+    public String getGatewayUrl() {
+        return gatewayUrl;
+    }
+
+    public String getServerThreads() {
+        return serverThreads;
+    }
+
+    public String getGatewayTransport() {
+        return gatewayTransport;
+    }
+
+    public int getUsers() {
+        return users;
+    }
+
+    public int getItemsPerUser() {
+        return itemsPerUser;
+    }
+
+    public int getRequestsPerUser() {
+        return requestsPerUser;
+    }
+
+    public int getBookingsPerUser() {
+        return bookingsPerUser;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public Duration getWarmup() {
+        return warmup;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+}
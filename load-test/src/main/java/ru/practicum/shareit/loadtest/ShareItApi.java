@@ -0,0 +1,67 @@
+package ru.practicum.shareit.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+// Минимальный HTTP-клиент ShareIt для наполнения данными и подачи нагрузки через шлюз
+public class ShareItApi {
+
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+
+    private final String baseUrl;
+    private final HttpClient client;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    public ShareItApi(String baseUrl) {
+        this.baseUrl = baseUrl;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    public HttpResponse<String> get(String path, long userId) throws IOException, InterruptedException {
+        HttpRequest request = newRequest(path, userId).GET().build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    public JsonNode post(String path, Long userId, Object body) throws IOException, InterruptedException {
+        HttpRequest request = newRequest(path, userId)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(mapper.writeValueAsString(body)))
+                .build();
+        return readSuccessful(client.send(request, HttpResponse.BodyHandlers.ofString()), "POST " + path);
+    }
+
+    public JsonNode patch(String path, long userId) throws IOException, InterruptedException {
+        HttpRequest request = newRequest(path, userId)
+                .method("PATCH", HttpRequest.BodyPublishers.noBody())
+                .build();
+        return readSuccessful(client.send(request, HttpResponse.BodyHandlers.ofString()), "PATCH " + path);
+    }
+
+    private HttpRequest.Builder newRequest(String path, Long userId) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30));
+        if (userId != null) {
+            builder.header(USER_HEADER, String.valueOf(userId));
+        }
+        return builder;
+    }
+
+    private JsonNode readSuccessful(HttpResponse<String> response, String operation) throws IOException {
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException(
+                    String.format("%s: статус %d, ответ %s", operation, response.statusCode(), response.body()));
+        }
+        return mapper.readTree(response.body());
+    }
+
+}
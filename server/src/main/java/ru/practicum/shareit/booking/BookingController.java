@@ -9,8 +9,12 @@ import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.utility.BatchRowResult;
 import ru.practicum.shareit.utility.PageCalc;
+import ru.practicum.shareit.utility.PageCursor;
 
+import javax.servlet.http.HttpServletResponse;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -32,6 +36,16 @@ public class BookingController {
         return BookingMapper.mapBookingToResponse(booking);
     }
 
+    @PostMapping("/batch")
+    public List<BatchRowResult<BookingResponseDto>> addBookings(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestBody List<BookingDto> dtoList
+    ) {
+        log.info("Получен запрос на пакетное бронирование от пользователя с id={} (count: {})",
+                userId, dtoList.size());
+        return bookingService.addBookings(userId, dtoList);
+    }
+
     @PatchMapping("/{bookingId}")
     public BookingResponseDto approveBooking(
             @RequestHeader("X-Sharer-User-Id") Long userId,
@@ -62,15 +76,20 @@ public class BookingController {
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @RequestParam(defaultValue = "ALL") String state,
             @RequestParam(required = false) Integer from,
-            @RequestParam(defaultValue = "20") Integer size
+            @RequestParam(defaultValue = "20") Integer size,
+            @RequestParam(required = false) String after,
+            HttpServletResponse response
     ) {
         log.info(
                 "Получен запрос на получение списка бронирования вещей пользователем с id={}, " +
-                "параметры пагинации: from={}, size={}",
-                userId, from, size);
-        List<Booking> list = bookingService.getUserBookings(userId,
-                BookingState.stringToBookingState(state), PageCalc.getPageable(from, size));
-        return BookingMapper.convertBookingToResponseList(list);
+                "параметры пагинации: from={}, size={}, after={}",
+                userId, from, size, after);
+        PageCursor cursor = PageCursor.decodeTimed(after);
+        List<BookingResponseDto> list = bookingService.getUserBookings(userId,
+                BookingState.stringToBookingState(state), cursor, PageCalc.getPageable(from, size, cursor));
+        PageCalc.setNextCursor(response, list, size,
+                booking -> PageCursor.of(LocalDateTime.parse(booking.getStart()), booking.getId()));
+        return list;
     }
 
     @GetMapping("/owner")
@@ -78,15 +97,20 @@ public class BookingController {
             @RequestHeader("X-Sharer-User-Id") Long ownerId,
             @RequestParam(defaultValue = "ALL") String state,
             @RequestParam(required = false) Integer from,
-            @RequestParam(defaultValue = "20") Integer size
+            @RequestParam(defaultValue = "20") Integer size,
+            @RequestParam(required = false) String after,
+            HttpServletResponse response
     ) {
         log.info(
                 "Получен запрос на получение списка бронирования вещей, принадлежащих владельцу с id={}, " +
-                "параметры пагинации: from={}, size={}",
-                ownerId, from, size);
-        List<Booking> list = bookingService.getOwnerBookings(ownerId,
-                BookingState.stringToBookingState(state), PageCalc.getPageable(from, size));
-        return BookingMapper.convertBookingToResponseList(list);
+                "параметры пагинации: from={}, size={}, after={}",
+                ownerId, from, size, after);
+        PageCursor cursor = PageCursor.decodeTimed(after);
+        List<BookingResponseDto> list = bookingService.getOwnerBookings(ownerId,
+                BookingState.stringToBookingState(state), cursor, PageCalc.getPageable(from, size, cursor));
+        PageCalc.setNextCursor(response, list, size,
+                booking -> PageCursor.of(LocalDateTime.parse(booking.getStart()), booking.getId()));
+        return list;
     }
 
 }
@@ -2,6 +2,10 @@ package ru.practicum.shareit.booking.dto;
 
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import ru.practicum.shareit.booking.model.BookingState;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 
 @Data
 @NoArgsConstructor
@@ -12,5 +16,20 @@ public class BookingResponseDto {
     private String status;
     private BookingUser booker;
     private BookingItem item;
-}
 
+    // Используется в JPQL-запросах (SELECT new ...) для выборки сразу в DTO
+    public BookingResponseDto(Long id, LocalDateTime start, LocalDateTime end, BookingState status,
+                              Long bookerId, Long itemId, String itemName) {
+        this.id = id;
+        this.start = start.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+        this.end = end.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+        this.status = status.toString();
+
+        this.booker = new BookingUser();
+        this.booker.setId(bookerId);
+
+        this.item = new BookingItem();
+        this.item.setId(itemId);
+        this.item.setName(itemName);
+    }
+}
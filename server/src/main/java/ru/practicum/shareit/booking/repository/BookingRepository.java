@@ -2,30 +2,147 @@ package ru.practicum.shareit.booking.repository;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.ItemBookingView;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingState;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
+    // Для проверки прав и ответа нужны данные вещи; бронирующий пользователь нужен только по id
+    @EntityGraph(attributePaths = "item")
+    Optional<Booking> findWithItemById(Long id);
+
+    @Query("SELECT b " +
+            "FROM Booking AS b " +
+            "WHERE b.item.id = :itemId " +
+            "  AND b.state = ru.practicum.shareit.booking.model.BookingState.APPROVED " +
+            "ORDER BY b.start")
+    List<Booking> getApprovedItemBookings(Long itemId);
+
     @Query("SELECT b " +
             "FROM Booking AS b " +
-            "  JOIN b.item " +
-            "  JOIN b.user " +
+            "WHERE b.item.id IN :itemIds " +
+            "  AND b.state IN (ru.practicum.shareit.booking.model.BookingState.WAITING, " +
+            "                  ru.practicum.shareit.booking.model.BookingState.APPROVED) " +
+            "  AND b.start < :end " +
+            "  AND b.end > :start")
+    List<Booking> getActiveItemBookingsInPeriod(Collection<Long> itemIds, LocalDateTime start, LocalDateTime end);
+
+    @Query("SELECT COUNT(b) > 0 " +
+            "FROM Booking AS b " +
+            "WHERE b.item.id = :itemId " +
+            "  AND b.state IN (ru.practicum.shareit.booking.model.BookingState.WAITING, " +
+            "                  ru.practicum.shareit.booking.model.BookingState.APPROVED) " +
+            "  AND b.start < :end " +
+            "  AND b.end > :start")
+    boolean existsActiveBookingInPeriod(Long itemId, LocalDateTime start, LocalDateTime end);
+
+    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingResponseDto(" +
+            "    b.id, b.start, b.end, b.state, b.user.id, i.id, i.name) " +
+            "FROM Booking AS b " +
+            "  JOIN b.item AS i " +
             "WHERE b.user.id = :userId " +
             "  AND (:state is null OR b.state = :state) " +
-            "ORDER BY b.start DESC")
-    Slice<Booking> getUserBookings(long userId, BookingState state, Pageable pageable);
+            "  AND b.start <= :afterStart " +
+            "  AND (b.start < :afterStart OR b.id < :afterId) " +
+            "ORDER BY b.start DESC, b.id DESC")
+    Slice<BookingResponseDto> getUserBookings(long userId, BookingState state,
+            LocalDateTime afterStart, long afterId, Pageable pageable);
 
-    @Query("SELECT b " +
+    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingResponseDto(" +
+            "    b.id, b.start, b.end, b.state, b.user.id, i.id, i.name) " +
             "FROM Booking AS b " +
             "  JOIN b.item AS i " +
-            "  JOIN b.user AS u " +
             "WHERE i.owner.id = :ownerId " +
             "  AND (:state is null OR b.state = :state) " +
-            "ORDER BY b.start DESC")
-    Slice<Booking> getOwnerBookings(long ownerId, BookingState state, Pageable pageable);
+            "  AND b.start <= :afterStart " +
+            "  AND (b.start < :afterStart OR b.id < :afterId) " +
+            "ORDER BY b.start DESC, b.id DESC")
+    Slice<BookingResponseDto> getOwnerBookings(long ownerId, BookingState state,
+            LocalDateTime afterStart, long afterId, Pageable pageable);
+
+    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingResponseDto(" +
+            "    b.id, b.start, b.end, b.state, b.user.id, i.id, i.name) " +
+            "FROM Booking AS b " +
+            "  JOIN b.item AS i " +
+            "WHERE b.user.id = :userId " +
+            "  AND b.end < :now " +
+            "  AND b.start <= :afterStart " +
+            "  AND (b.start < :afterStart OR b.id < :afterId) " +
+            "ORDER BY b.start DESC, b.id DESC")
+    Slice<BookingResponseDto> getUserPastBookings(long userId, LocalDateTime now,
+            LocalDateTime afterStart, long afterId, Pageable pageable);
+
+    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingResponseDto(" +
+            "    b.id, b.start, b.end, b.state, b.user.id, i.id, i.name) " +
+            "FROM Booking AS b " +
+            "  JOIN b.item AS i " +
+            "WHERE b.user.id = :userId " +
+            "  AND b.start < :now " +
+            "  AND b.end >= :now " +
+            "  AND b.start <= :afterStart " +
+            "  AND (b.start < :afterStart OR b.id < :afterId) " +
+            "ORDER BY b.start DESC, b.id DESC")
+    Slice<BookingResponseDto> getUserCurrentBookings(long userId, LocalDateTime now,
+            LocalDateTime afterStart, long afterId, Pageable pageable);
+
+    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingResponseDto(" +
+            "    b.id, b.start, b.end, b.state, b.user.id, i.id, i.name) " +
+            "FROM Booking AS b " +
+            "  JOIN b.item AS i " +
+            "WHERE b.user.id = :userId " +
+            "  AND b.start >= :now " +
+            "  AND b.start <= :afterStart " +
+            "  AND (b.start < :afterStart OR b.id < :afterId) " +
+            "ORDER BY b.start DESC, b.id DESC")
+    Slice<BookingResponseDto> getUserFutureBookings(long userId, LocalDateTime now,
+            LocalDateTime afterStart, long afterId, Pageable pageable);
+
+    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingResponseDto(" +
+            "    b.id, b.start, b.end, b.state, b.user.id, i.id, i.name) " +
+            "FROM Booking AS b " +
+            "  JOIN b.item AS i " +
+            "WHERE i.owner.id = :ownerId " +
+            "  AND b.end < :now " +
+            "  AND b.start <= :afterStart " +
+            "  AND (b.start < :afterStart OR b.id < :afterId) " +
+            "ORDER BY b.start DESC, b.id DESC")
+    Slice<BookingResponseDto> getOwnerPastBookings(long ownerId, LocalDateTime now,
+            LocalDateTime afterStart, long afterId, Pageable pageable);
+
+    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingResponseDto(" +
+            "    b.id, b.start, b.end, b.state, b.user.id, i.id, i.name) " +
+            "FROM Booking AS b " +
+            "  JOIN b.item AS i " +
+            "WHERE i.owner.id = :ownerId " +
+            "  AND b.start < :now " +
+            "  AND b.end >= :now " +
+            "  AND b.start <= :afterStart " +
+            "  AND (b.start < :afterStart OR b.id < :afterId) " +
+            "ORDER BY b.start DESC, b.id DESC")
+    Slice<BookingResponseDto> getOwnerCurrentBookings(long ownerId, LocalDateTime now,
+            LocalDateTime afterStart, long afterId, Pageable pageable);
+
+    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingResponseDto(" +
+            "    b.id, b.start, b.end, b.state, b.user.id, i.id, i.name) " +
+            "FROM Booking AS b " +
+            "  JOIN b.item AS i " +
+            "WHERE i.owner.id = :ownerId " +
+            "  AND b.start >= :now " +
+            "  AND b.start <= :afterStart " +
+            "  AND (b.start < :afterStart OR b.id < :afterId) " +
+            "ORDER BY b.start DESC, b.id DESC")
+    Slice<BookingResponseDto> getOwnerFutureBookings(long ownerId, LocalDateTime now,
+            LocalDateTime afterStart, long afterId, Pageable pageable);
 
     @Query(value =
             "SELECT b.* " +
@@ -40,29 +157,31 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     Booking getLastFinishedUserBooking(Long userId, Long itemId);
 
     @Query(value =
-            "SELECT b.* " +
-                    "FROM bookings AS b " +
-                    "  JOIN items AS i ON b.item_id = i.id " +
-                    "WHERE b.item_id = :itemId " +
-                    "  AND i.owner_id = :ownerId " +
-                    "  AND b.start_time <= now() " +
-                    "  AND b.state = 'APPROVED' " +
-                    "ORDER BY b.start_time DESC " +
-                    "LIMIT 1",
+            "SELECT lb.item_id AS \"itemId\", lb.id AS \"bookingId\", lb.user_id AS \"bookerId\" " +
+                    "FROM (SELECT b.id, b.item_id, b.user_id, " +
+                    "        ROW_NUMBER() OVER (PARTITION BY b.item_id ORDER BY b.start_time DESC) AS rn " +
+                    "      FROM bookings AS b " +
+                    "        JOIN items AS i ON b.item_id = i.id " +
+                    "      WHERE b.item_id IN (:itemIds) " +
+                    "        AND i.owner_id = :ownerId " +
+                    "        AND b.start_time <= now() " +
+                    "        AND b.state = 'APPROVED') AS lb " +
+                    "WHERE lb.rn = 1",
             nativeQuery = true)
-    Booking getLastBooking(Long itemId, Long ownerId);
+    List<ItemBookingView> getLastBookings(Collection<Long> itemIds, Long ownerId);
 
     @Query(value =
-            "SELECT b.* " +
-                    "FROM bookings AS b " +
-                    "  JOIN items AS i ON b.item_id = i.id " +
-                    "WHERE b.item_id = :itemId " +
-                    "  AND i.owner_id = :ownerId " +
-                    "  AND b.start_time >= now() " +
-                    "  AND b.state = 'APPROVED' " +
-                    "ORDER BY b.start_time ASC " +
-                    "LIMIT 1",
+            "SELECT nb.item_id AS \"itemId\", nb.id AS \"bookingId\", nb.user_id AS \"bookerId\" " +
+                    "FROM (SELECT b.id, b.item_id, b.user_id, " +
+                    "        ROW_NUMBER() OVER (PARTITION BY b.item_id ORDER BY b.start_time ASC) AS rn " +
+                    "      FROM bookings AS b " +
+                    "        JOIN items AS i ON b.item_id = i.id " +
+                    "      WHERE b.item_id IN (:itemIds) " +
+                    "        AND i.owner_id = :ownerId " +
+                    "        AND b.start_time >= now() " +
+                    "        AND b.state = 'APPROVED') AS nb " +
+                    "WHERE nb.rn = 1",
             nativeQuery = true)
-    Booking getNextBooking(Long itemId, Long ownerId);
+    List<ItemBookingView> getNextBookings(Collection<Long> itemIds, Long ownerId);
 
 }
@@ -2,20 +2,25 @@ package ru.practicum.shareit.booking.service;
 
 import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.utility.BatchRowResult;
+import ru.practicum.shareit.utility.PageCursor;
 
 import java.util.List;
 
 public interface BookingService {
     Booking addBooking(BookingDto dto);
 
+    List<BatchRowResult<BookingResponseDto>> addBookings(long userId, List<BookingDto> dtoList);
+
     Booking approveBooking(long userId, long bookingId, boolean approved);
 
     Booking getBookingInfo(long userId, long bookingId);
 
-    List<Booking> getUserBookings(long userId, BookingState state, Pageable pageable);
+    List<BookingResponseDto> getUserBookings(long userId, BookingState state, PageCursor after, Pageable pageable);
 
-    List<Booking> getOwnerBookings(long ownerId, BookingState state, Pageable pageable);
+    List<BookingResponseDto> getOwnerBookings(long ownerId, BookingState state, PageCursor after, Pageable pageable);
 
 }
@@ -2,24 +2,42 @@ package ru.practicum.shareit.booking.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.errorhandler.model.Violation;
+import ru.practicum.shareit.exceptions.ConflictException;
 import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.exceptions.UnsupportedException;
 import ru.practicum.shareit.exceptions.ValidationException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.utility.BatchRowResult;
+import ru.practicum.shareit.utility.FieldValidator;
+import ru.practicum.shareit.utility.PageCursor;
 
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -30,13 +48,68 @@ public class BookingServiceImpl implements BookingService {
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
     private final BookingRepository bookingRepository;
+    private final ItemAvailabilityIndex availabilityIndex;
+
+    // Блокировки по вещам (lock striping): запросы на бронирование одной вещи выполняются последовательно,
+    // разных вещей - параллельно. Между экземплярами сервера пересечения отсекает ограничение в БД
+    private final Lock[] itemLocks = createItemLocks(64);
 
     @Override
     public Booking addBooking(BookingDto dto) {
         Booking booking = BookingMapper.mapDtoToBooking(dto);
         booking.setUser(getUserById(dto.getUserId()));
         booking.setItem(getItemById(dto.getItemId()));
+        checkNewBooking(booking);
 
+        booking.setState(BookingState.WAITING);
+        Booking savedBooking = saveIfPeriodIsFree(booking);
+        log.info("Добавлено бронирование: {}", savedBooking);
+        return savedBooking;
+    }
+
+    // Вещи и пользователь загружаются одним запросом на весь пакет, проверка пересечений выполняется
+    // одним запросом по всем вещам пакета, а вставка - одним вызовом saveAll (построчно, если его отклонила БД)
+    @Override
+    public List<BatchRowResult<BookingResponseDto>> addBookings(long userId, List<BookingDto> dtoList) {
+        BatchRowResult.checkBatchSize(dtoList);
+        User user = getUserById(userId);
+        Set<Long> itemIds = dtoList.stream()
+                .map(BookingDto::getItemId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Item> items = itemRepository.findByIdIn(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+
+        List<BatchRowResult<BookingResponseDto>> results = new ArrayList<>(Collections.nCopies(dtoList.size(), null));
+        Map<Integer, Booking> candidates = new LinkedHashMap<>();
+        for (int row = 0; row < dtoList.size(); row++) {
+            BookingDto dto = dtoList.get(row);
+            try {
+                Booking booking = mapBatchRowToBooking(dto);
+                booking.setUser(user);
+                booking.setItem(items.get(dto.getItemId()));
+                if (booking.getItem() == null) {
+                    throw new NotFoundException(
+                            new Violation("item", String.format("Вещь с id=%d не найдена!", dto.getItemId())));
+                }
+                checkNewBooking(booking);
+                booking.setState(BookingState.WAITING);
+                candidates.put(row, booking);
+            } catch (ValidationException e) {
+                results.set(row, BatchRowResult.failure(row, e.getViolation().getMessage()));
+            } catch (NotFoundException e) {
+                results.set(row, BatchRowResult.failure(row, e.getViolation().getMessage()));
+            }
+        }
+
+        Map<Integer, Booking> saved = saveBatchIfPeriodsAreFree(candidates, results);
+        saved.forEach((row, booking) ->
+                results.set(row, BatchRowResult.success(row, BookingMapper.mapBookingToResponse(booking))));
+        log.info("Пакетное бронирование: добавлено {} из {}", saved.size(), dtoList.size());
+        return results;
+    }
+
+    private void checkNewBooking(Booking booking) {
         if (!booking.getItem().getAvailable()) {
             throw new ValidationException(
                     new Violation("Available", "Данная вещь недоступна для бронирования!"));
@@ -53,14 +126,12 @@ public class BookingServiceImpl implements BookingService {
             throw new ValidationException(
                     new Violation("EndDate", "Некорректная дата завершения бронирования!"));
         }
-
-        booking.setState(BookingState.WAITING);
-        Booking savedBooking = bookingRepository.save(booking);
-        log.info("Добавлено бронирование: {}", savedBooking);
-        return savedBooking;
     }
 
+    // Версия бронирования проверяется при сохранении (оптимистическая блокировка): из двух одновременных
+    // подтверждений успешно только первое, второе получает конфликт
     @Override
+    @Transactional
     public Booking approveBooking(long userId, long bookingId, boolean approved) {
         Booking booking = getBookingById(bookingId);
         if (booking.getItem().getOwner().getId() != userId) {
@@ -77,12 +148,22 @@ public class BookingServiceImpl implements BookingService {
         } else {
             booking.setState(BookingState.REJECTED);
         }
-        Booking savedBooking = bookingRepository.save(booking);
+        Booking savedBooking;
+        try {
+            savedBooking = bookingRepository.saveAndFlush(booking);
+        } catch (OptimisticLockingFailureException e) {
+            throw new ConflictException(
+                    new Violation("State", "Бронирование было изменено другим запросом, повторите операцию"));
+        }
+        if (savedBooking.getState() == BookingState.APPROVED) {
+            availabilityIndex.onBookingApproved(savedBooking);
+        }
         log.info("Подтверждение бронирования: {}", savedBooking);
         return savedBooking;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Booking getBookingInfo(long userId, long bookingId) {
         Booking booking = getBookingById(bookingId);
         if (booking.getUser().getId() != userId && booking.getItem().getOwner().getId() != userId) {
@@ -95,32 +176,60 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
-    public List<Booking> getUserBookings(long userId, BookingState state, Pageable pageable) {
+    @Transactional(readOnly = true)
+    public List<BookingResponseDto> getUserBookings(long userId, BookingState state, PageCursor after,
+                                                   Pageable pageable) {
         getUserById(userId);
+        PageCursor cursor = after != null ? after : PageCursor.DESC_START;
         switch (state) {
             case ALL:
-                return bookingRepository.getUserBookings(userId, null, pageable).getContent();
+                return bookingRepository.getUserBookings(userId, null,
+                        cursor.getTime(), cursor.getId(), pageable).getContent();
             case WAITING:
             case REJECTED:
             case APPROVED:
-                return bookingRepository.getUserBookings(userId, state, pageable).getContent();
+                return bookingRepository.getUserBookings(userId, state,
+                        cursor.getTime(), cursor.getId(), pageable).getContent();
+            case PAST:
+                return bookingRepository.getUserPastBookings(userId, LocalDateTime.now(),
+                        cursor.getTime(), cursor.getId(), pageable).getContent();
+            case CURRENT:
+                return bookingRepository.getUserCurrentBookings(userId, LocalDateTime.now(),
+                        cursor.getTime(), cursor.getId(), pageable).getContent();
+            case FUTURE:
+                return bookingRepository.getUserFutureBookings(userId, LocalDateTime.now(),
+                        cursor.getTime(), cursor.getId(), pageable).getContent();
             default:
-                return filterBookings(bookingRepository.getUserBookings(userId, null, pageable).getContent(), state);
+                throw new UnsupportedException(String.format("Unknown state: %s", state));
         }
     }
 
     @Override
-    public List<Booking> getOwnerBookings(long ownerId, BookingState state, Pageable pageable) {
+    @Transactional(readOnly = true)
+    public List<BookingResponseDto> getOwnerBookings(long ownerId, BookingState state, PageCursor after,
+                                                   Pageable pageable) {
         getUserById(ownerId);
+        PageCursor cursor = after != null ? after : PageCursor.DESC_START;
         switch (state) {
             case ALL:
-                return bookingRepository.getOwnerBookings(ownerId, null, pageable).getContent();
+                return bookingRepository.getOwnerBookings(ownerId, null,
+                        cursor.getTime(), cursor.getId(), pageable).getContent();
             case WAITING:
             case REJECTED:
             case APPROVED:
-                return bookingRepository.getOwnerBookings(ownerId, state, pageable).getContent();
+                return bookingRepository.getOwnerBookings(ownerId, state,
+                        cursor.getTime(), cursor.getId(), pageable).getContent();
+            case PAST:
+                return bookingRepository.getOwnerPastBookings(ownerId, LocalDateTime.now(),
+                        cursor.getTime(), cursor.getId(), pageable).getContent();
+            case CURRENT:
+                return bookingRepository.getOwnerCurrentBookings(ownerId, LocalDateTime.now(),
+                        cursor.getTime(), cursor.getId(), pageable).getContent();
+            case FUTURE:
+                return bookingRepository.getOwnerFutureBookings(ownerId, LocalDateTime.now(),
+                        cursor.getTime(), cursor.getId(), pageable).getContent();
             default:
-                return filterBookings(bookingRepository.getOwnerBookings(ownerId, null, pageable).getContent(), state);
+                throw new UnsupportedException(String.format("Unknown state: %s", state));
         }
     }
 
@@ -137,25 +246,123 @@ public class BookingServiceImpl implements BookingService {
     }
 
     private Booking getBookingById(Long bookingId) {
-        return bookingRepository.findById(bookingId).orElseThrow(() ->
+        return bookingRepository.findWithItemById(bookingId).orElseThrow(() ->
                 new NotFoundException(
                         new Violation("Booking", String.format("Не найдено бронирование с id=%d!", bookingId))));
     }
 
-    private BookingState getBookingPeriodState(Booking booking) {
-        if (booking.getEnd().isBefore(LocalDateTime.now())) {
-            return BookingState.PAST;
-        } else if (!booking.getStart().isBefore(LocalDateTime.now())) {
-            return BookingState.FUTURE;
-        } else {
-            return BookingState.CURRENT;
+    private Booking saveIfPeriodIsFree(Booking booking) {
+        Lock lock = itemLocks[getLockIndex(booking.getItem().getId())];
+        lock.lock();
+        try {
+            if (bookingRepository.existsActiveBookingInPeriod(
+                    booking.getItem().getId(), booking.getStart(), booking.getEnd())) {
+                throw new ConflictException(
+                        new Violation("Period", "Вещь уже забронирована на указанный период!"));
+            }
+            return bookingRepository.saveAndFlush(booking);
+        } catch (DataIntegrityViolationException e) {
+            throw new ConflictException(
+                    new Violation("Period", "Вещь уже забронирована на указанный период!"));
+        } finally {
+            lock.unlock();
         }
     }
 
-    private List<Booking> filterBookings(List<Booking> bookings, BookingState state) {
-        return bookings.stream()
-                .filter(booking -> getBookingPeriodState(booking) == state)
+    // Блокировки всех вещей пакета берутся в порядке возрастания индекса, чтобы исключить взаимоблокировки
+    private Map<Integer, Booking> saveBatchIfPeriodsAreFree(Map<Integer, Booking> candidates,
+                                                            List<BatchRowResult<BookingResponseDto>> results) {
+        if (candidates.isEmpty()) {
+            return Map.of();
+        }
+        List<Lock> locks = candidates.values().stream()
+                .map(booking -> getLockIndex(booking.getItem().getId()))
+                .distinct()
+                .sorted()
+                .map(index -> itemLocks[index])
                 .collect(Collectors.toList());
+        locks.forEach(Lock::lock);
+        try {
+            LocalDateTime minStart = candidates.values().stream()
+                    .map(Booking::getStart)
+                    .min(LocalDateTime::compareTo)
+                    .orElseThrow();
+            LocalDateTime maxEnd = candidates.values().stream()
+                    .map(Booking::getEnd)
+                    .max(LocalDateTime::compareTo)
+                    .orElseThrow();
+            Set<Long> itemIds = candidates.values().stream()
+                    .map(booking -> booking.getItem().getId())
+                    .collect(Collectors.toSet());
+            Map<Long, List<Booking>> booked = bookingRepository.getActiveItemBookingsInPeriod(itemIds, minStart, maxEnd)
+                    .stream()
+                    .collect(Collectors.groupingBy(booking -> booking.getItem().getId()));
+
+            Map<Integer, Booking> accepted = new LinkedHashMap<>();
+            candidates.forEach((row, booking) -> {
+                List<Booking> itemBookings = booked.computeIfAbsent(booking.getItem().getId(), id -> new ArrayList<>());
+                boolean overlaps = itemBookings.stream().anyMatch(other ->
+                        other.getStart().isBefore(booking.getEnd()) && other.getEnd().isAfter(booking.getStart()));
+                if (overlaps) {
+                    results.set(row, BatchRowResult.failure(row, "Вещь уже забронирована на указанный период!"));
+                } else {
+                    itemBookings.add(booking);
+                    accepted.put(row, booking);
+                }
+            });
+
+            try {
+                bookingRepository.saveAll(accepted.values());
+                return accepted;
+            } catch (DataIntegrityViolationException e) {
+                log.warn("Пакетное бронирование отклонено ограничением БД, строки сохраняются по одной", e);
+                return saveRowByRow(accepted, results);
+            }
+        } finally {
+            locks.forEach(Lock::unlock);
+        }
+    }
+
+    // Вставка пакета откатывается целиком, если хотя бы одна строка нарушает ограничение БД (например,
+    // пересекается с бронированием, созданным другим экземпляром сервера). Строки сохраняются повторно
+    // по одной, и ошибку получают только конфликтующие строки
+    private Map<Integer, Booking> saveRowByRow(Map<Integer, Booking> accepted,
+                                               List<BatchRowResult<BookingResponseDto>> results) {
+        Map<Integer, Booking> saved = new LinkedHashMap<>();
+        accepted.forEach((row, booking) -> {
+            // Идентификатор и версия были присвоены в откаченной транзакции
+            booking.setId(null);
+            booking.setVersion(null);
+            try {
+                saved.put(row, bookingRepository.saveAndFlush(booking));
+            } catch (DataIntegrityViolationException e) {
+                results.set(row, BatchRowResult.failure(row, "Вещь уже забронирована на указанный период!"));
+            }
+        });
+        return saved;
+    }
+
+    private Booking mapBatchRowToBooking(BookingDto dto) {
+        FieldValidator.checkNotNull(dto.getStart(), "StartDate", "Не задана дата начала бронирования!");
+        FieldValidator.checkNotNull(dto.getEnd(), "EndDate", "Не задана дата завершения бронирования!");
+        try {
+            return BookingMapper.mapDtoToBooking(dto);
+        } catch (DateTimeParseException e) {
+            throw new ValidationException(
+                    new Violation("Period", "Некорректный формат даты бронирования!"));
+        }
+    }
+
+    private int getLockIndex(long itemId) {
+        return Math.floorMod(Long.hashCode(itemId), itemLocks.length);
+    }
+
+    private static Lock[] createItemLocks(int count) {
+        Lock[] locks = new Lock[count];
+        for (int i = 0; i < count; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        return locks;
     }
 
 }
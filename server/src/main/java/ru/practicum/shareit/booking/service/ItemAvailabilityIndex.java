@@ -0,0 +1,178 @@
+package ru.practicum.shareit.booking.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.dto.AvailabilityWindowDto;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+// Индекс занятости вещей: для каждой вещи хранится упорядоченный массив непересекающихся интервалов
+// подтвержденных бронирований. Интервалы вещи загружаются из БД при первом обращении и сбрасываются
+// при подтверждении бронирования; ограничение по времени жизни подхватывает изменения других экземпляров сервера
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ItemAvailabilityIndex {
+
+    private final BookingRepository bookingRepository;
+
+    // В кэше хранятся CompletableFuture, чтобы загрузка из БД выполнялась вне блокировки внутри кэша:
+    // Cache.get(key, loader) держит монитор ConcurrentHashMap на время запроса, что закрепляет
+    // виртуальный поток за потоком-носителем. Ожидание незавершенной загрузки - обычная парковка потока
+    private final AsyncCache<Long, BookedPeriods> periods = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterWrite(Duration.ofMinutes(10))
+            .buildAsync();
+
+    public List<AvailabilityWindowDto> getFreeWindows(long itemId, LocalDateTime from, LocalDateTime to) {
+        return getPeriods(itemId).getFreeWindows(from, to);
+    }
+
+    private BookedPeriods getPeriods(long itemId) {
+        CompletableFuture<BookedPeriods> loading = new CompletableFuture<>();
+        CompletableFuture<BookedPeriods> existing = periods.asMap().putIfAbsent(itemId, loading);
+        if (existing != null) {
+            return await(existing);
+        }
+
+        // Неуспешно завершенная загрузка удаляется из кэша автоматически
+        try {
+            loading.complete(loadPeriods(itemId));
+        } catch (RuntimeException e) {
+            loading.completeExceptionally(e);
+            throw e;
+        }
+        return loading.join();
+    }
+
+    // Ожидающие потоки получают ошибку загрузки в том же виде, что и загружавший поток, а не обернутой
+    // в CompletionException, чтобы ее обработал ErrorHandler
+    private static BookedPeriods await(CompletableFuture<BookedPeriods> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    public void onBookingApproved(Booking booking) {
+        long itemId = booking.getItem().getId();
+
+        // Интервалы сбрасываются только после фиксации бронирования в БД, иначе повторная загрузка могла бы
+        // его не увидеть
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(itemId);
+                }
+            });
+        } else {
+            invalidate(itemId);
+        }
+    }
+
+    // Запись сбрасывается, а не дополняется: замена значения продлевала бы expireAfterWrite, и часто
+    // бронируемая вещь никогда не перечитывалась бы из БД. Сброс незавершенной загрузки тоже безопасен:
+    // ее результат получит только загружающий поток, следующие обращения загрузят интервалы заново
+    private void invalidate(long itemId) {
+        periods.synchronous().invalidate(itemId);
+    }
+
+    private BookedPeriods loadPeriods(Long itemId) {
+        List<Booking> bookings = bookingRepository.getApprovedItemBookings(itemId);
+        log.info("Загружены интервалы бронирования вещи с id={}, количество: {}", itemId, bookings.size());
+
+        List<LocalDateTime[]> list = new ArrayList<>(bookings.size());
+        for (Booking booking : bookings) {
+            list.add(new LocalDateTime[] {booking.getStart(), booking.getEnd()});
+        }
+        return BookedPeriods.merge(list);
+    }
+
+    // Неизменяемый набор интервалов [start, end), упорядоченных по началу; так как интервалы не пересекаются,
+    // массив окончаний тоже упорядочен и по нему работает бинарный поиск
+    static class BookedPeriods {
+
+        private final LocalDateTime[] starts;
+        private final LocalDateTime[] ends;
+
+        private BookedPeriods(LocalDateTime[] starts, LocalDateTime[] ends) {
+            this.starts = starts;
+            this.ends = ends;
+        }
+
+        // Список должен быть упорядочен по началу интервала; пересекающиеся и смежные интервалы объединяются
+        static BookedPeriods merge(List<LocalDateTime[]> sortedPeriods) {
+            List<LocalDateTime> starts = new ArrayList<>();
+            List<LocalDateTime> ends = new ArrayList<>();
+            for (LocalDateTime[] period : sortedPeriods) {
+                int last = ends.size() - 1;
+                if (last >= 0 && !period[0].isAfter(ends.get(last))) {
+                    if (period[1].isAfter(ends.get(last))) {
+                        ends.set(last, period[1]);
+                    }
+                } else {
+                    starts.add(period[0]);
+                    ends.add(period[1]);
+                }
+            }
+            return new BookedPeriods(starts.toArray(new LocalDateTime[0]), ends.toArray(new LocalDateTime[0]));
+        }
+
+        List<AvailabilityWindowDto> getFreeWindows(LocalDateTime from, LocalDateTime to) {
+            List<AvailabilityWindowDto> windows = new ArrayList<>();
+            LocalDateTime cursor = from;
+            for (int i = firstAfter(ends, from); i < starts.length && starts[i].isBefore(to); i++) {
+                if (starts[i].isAfter(cursor)) {
+                    windows.add(window(cursor, starts[i]));
+                }
+                if (ends[i].isAfter(cursor)) {
+                    cursor = ends[i];
+                }
+            }
+            if (cursor.isBefore(to)) {
+                windows.add(window(cursor, to));
+            }
+            return windows;
+        }
+
+        // Индекс первого элемента упорядоченного массива, который позже заданного момента
+        private static int firstAfter(LocalDateTime[] values, LocalDateTime moment) {
+            int low = 0;
+            int high = values.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (values[middle].isAfter(moment)) {
+                    high = middle;
+                } else {
+                    low = middle + 1;
+                }
+            }
+            return low;
+        }
+
+        private static AvailabilityWindowDto window(LocalDateTime start, LocalDateTime end) {
+            return new AvailabilityWindowDto(
+                    start.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME),
+                    end.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+        }
+    }
+
+}
@@ -7,8 +7,11 @@ import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.utility.BatchRowResult;
 import ru.practicum.shareit.utility.PageCalc;
+import ru.practicum.shareit.utility.PageCursor;
 
+import javax.servlet.http.HttpServletResponse;
 import java.util.List;
 
 @RestController
@@ -28,6 +31,14 @@ public class ItemController {
         return ItemMapper.mapItemToDto(item);
     }
 
+    @PostMapping("/batch")
+    public List<BatchRowResult<ItemResponseDto>> addItems(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                          @RequestBody List<ItemDto> dtoList) {
+        log.info("Получен POST-запрос от пользователя с id={} на пакетное добавление вещей (count: {})",
+                userId, dtoList.size());
+        return itemService.addItems(userId, dtoList);
+    }
+
     @PatchMapping("/{itemId}")
     public ItemResponseDto updateItem(@RequestHeader("X-Sharer-User-Id") Long userId,
                                       @PathVariable Long itemId,
@@ -51,13 +62,19 @@ public class ItemController {
     public List<ItemResponseDto> getOwnerItems(
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @RequestParam(required = false) Integer from,
-            @RequestParam(defaultValue = "20") Integer size
+            @RequestParam(defaultValue = "20") Integer size,
+            @RequestParam(required = false) String after,
+            HttpServletResponse response
     ) {
         log.info(
                 "Получен GET-запрос от пользователя с id={} на получение списка его вещей, " +
-                "параметры пагинации (from={}, size={})",
-                userId, from, size);
-        return itemService.getOwnerItems(userId, PageCalc.getPageable(from, size));
+                "параметры пагинации (from={}, size={}, after={})",
+                userId, from, size, after);
+        PageCursor cursor = PageCursor.decodeId(after);
+        List<ItemResponseDto> list = itemService.getOwnerItems(
+                userId, cursor, PageCalc.getPageable(from, size, cursor));
+        PageCalc.setNextCursor(response, list, size, item -> PageCursor.of(item.getId()));
+        return list;
     }
 
     @GetMapping("/search")
@@ -65,11 +82,20 @@ public class ItemController {
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @RequestParam(required = false) String text,
             @RequestParam(required = false) Integer from,
-            @RequestParam(defaultValue = "20") Integer size
+            @RequestParam(defaultValue = "20") Integer size,
+            @RequestParam(required = false) String after,
+            HttpServletResponse response
     ) {
         log.info("Получен GET-запрос от пользователя с id={} на поиск вещей по ключевому слову '{}', " +
-                "параметры пагинации: from={}, size={}", userId, text, from, size);
-        return itemService.searchItems(text, PageCalc.getPageable(from, size));
+                "параметры пагинации: from={}, size={}, after={}", userId, text, from, size, after);
+        PageCursor cursor = PageCursor.decodeId(after);
+        List<ItemResponseDto> list = itemService.searchItems(
+                text, cursor, PageCalc.getPageable(from, size, cursor));
+        // При выборке по смещению результаты упорядочены по релевантности, курсор по id к ним неприменим
+        if (cursor != null) {
+            PageCalc.setNextCursor(response, list, size, item -> PageCursor.of(item.getId()));
+        }
+        return list;
     }
 
     @PostMapping("/{itemId}/comment")
@@ -86,4 +112,15 @@ public class ItemController {
         return CommentMapper.mapCommentToResponseDto(comment);
     }
 
+    @GetMapping("/{itemId}/availability")
+    public List<AvailabilityWindowDto> getItemAvailability(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @PathVariable Long itemId,
+            @RequestParam String from,
+            @RequestParam String to) {
+        log.info("Получен GET-запрос от пользователя с id={} на получение свободных периодов вещи с id={} " +
+                "в интервале с {} по {}", userId, itemId, from, to);
+        return itemService.getItemAvailability(itemId, from, to);
+    }
+
 }
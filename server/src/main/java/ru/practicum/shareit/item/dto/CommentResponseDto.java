@@ -1,8 +1,13 @@
 package ru.practicum.shareit.item.dto;
 
 import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 
 @Data
+@NoArgsConstructor
 public class CommentResponseDto {
 
     private long id;
@@ -10,4 +15,12 @@ public class CommentResponseDto {
     private String authorName;
     private String created;
 
+    // Используется в JPQL-запросах (SELECT new ...) для выборки сразу в DTO
+    public CommentResponseDto(Long id, String text, String authorName, LocalDateTime created) {
+        this.id = id;
+        this.text = text;
+        this.authorName = authorName;
+        this.created = created.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+    }
+
 }
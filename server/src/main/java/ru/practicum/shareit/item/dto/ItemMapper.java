@@ -34,6 +34,7 @@ public class ItemMapper {
         if (newItem.getAvailable() == null) {
             newItem.setAvailable(oldItem.getAvailable());
         }
+        newItem.setVersion(oldItem.getVersion());
         return newItem;
     }
 
@@ -1,11 +1,13 @@
 package ru.practicum.shareit.item.dto;
 
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import ru.practicum.shareit.item.model.OwnerBookingInfo;
 
 import java.util.List;
 
 @Data
+@NoArgsConstructor
 public class ItemResponseDto {
 
     private Long id;
@@ -16,4 +18,13 @@ public class ItemResponseDto {
     private OwnerBookingInfo nextBooking;
     private List<CommentResponseDto> comments;
     private Long requestId;
+
+    // Используется в JPQL-запросах (SELECT new ...) для выборки сразу в DTO
+    public ItemResponseDto(Long id, String name, String description, Boolean available, Long requestId) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.available = available;
+        this.requestId = requestId;
+    }
 }
@@ -1,12 +1,19 @@
 package ru.practicum.shareit.item.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.item.dto.CommentResponseDto;
 import ru.practicum.shareit.item.model.Comment;
 
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
-    List<Comment> findByItemId(Long itemId);
+    @Query("SELECT new ru.practicum.shareit.item.dto.CommentResponseDto(c.id, c.text, a.name, c.created) " +
+            "FROM Comment AS c " +
+            "  JOIN c.author AS a " +
+            "WHERE c.item.id = :itemId " +
+            "ORDER BY c.id")
+    List<CommentResponseDto> getItemComments(Long itemId);
 
 }
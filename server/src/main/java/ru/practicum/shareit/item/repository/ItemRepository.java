@@ -1,22 +1,101 @@
 package ru.practicum.shareit.item.repository;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
 import ru.practicum.shareit.item.model.Item;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
+
+    // Владелец загружается вместе с вещью, чтобы закэшированный объект не содержал неинициализированный прокси
+    @Override
+    @Cacheable(cacheNames = "items", unless = "#result == null")
+    @EntityGraph(attributePaths = "owner")
+    Optional<Item> findById(Long id);
+
+    @EntityGraph(attributePaths = "owner")
+    List<Item> findByIdIn(Collection<Long> ids);
+
+    @Override
+    @CacheEvict(cacheNames = "items", key = "#p0.id", condition = "#p0.id != null")
+    <S extends Item> S save(S entity);
+
+    // Кэш сбрасывается только после успешного сохранения, поэтому при конфликте версий в нем может остаться
+    // устаревшая вещь: без сброса все следующие изменения получали бы ту же старую версию и тот же конфликт
+    @CacheEvict(cacheNames = "items")
+    default void evictCached(Long id) {
+    }
+
+    @Query("SELECT it.id FROM Item AS it WHERE it.owner.id = :ownerId")
+    List<Long> findIdsByOwnerId(Long ownerId);
+
     @Query("SELECT it " +
             "FROM Item AS it " +
             "WHERE available = true " +
             "  AND (LOWER(name) LIKE LOWER(CONCAT('%', :text, '%')) " +
-            "       OR LOWER(description) LIKE LOWER(CONCAT('%', :text, '%'))) ")
+            "       OR LOWER(description) LIKE LOWER(CONCAT('%', :text, '%'))) " +
+            "ORDER BY CASE WHEN LOWER(it.name) LIKE LOWER(CONCAT('%', :text, '%')) THEN 0 ELSE 1 END, it.id")
     Slice<Item> searchItems(String text, Pageable pageable);
 
-    Slice<Item> findByOwnerIdOrderById(Long userId, Pageable pageable);
+    @Query(value =
+            "SELECT it.* " +
+                    "FROM items AS it " +
+                    "WHERE it.is_available = true " +
+                    "  AND (to_tsvector('simple', it.name || ' ' || it.description) " +
+                    "         @@ plainto_tsquery('simple', :text) " +
+                    "       OR LOWER(it.name) LIKE CONCAT('%', :text, '%') " +
+                    "       OR LOWER(it.description) LIKE CONCAT('%', :text, '%')) " +
+                    "ORDER BY ts_rank(to_tsvector('simple', it.name || ' ' || it.description), " +
+                    "                 plainto_tsquery('simple', :text)) DESC, " +
+                    "         it.id",
+            nativeQuery = true)
+    Slice<Item> fullTextSearchItems(String text, Pageable pageable);
+
+    @Query("SELECT it " +
+            "FROM Item AS it " +
+            "WHERE available = true " +
+            "  AND (LOWER(name) LIKE LOWER(CONCAT('%', :text, '%')) " +
+            "       OR LOWER(description) LIKE LOWER(CONCAT('%', :text, '%'))) " +
+            "  AND it.id > :afterId " +
+            "ORDER BY it.id")
+    Slice<Item> searchItemsAfter(String text, long afterId, Pageable pageable);
+
+    @Query(value =
+            "SELECT it.* " +
+                    "FROM items AS it " +
+                    "WHERE it.is_available = true " +
+                    "  AND (to_tsvector('simple', it.name || ' ' || it.description) " +
+                    "         @@ plainto_tsquery('simple', :text) " +
+                    "       OR LOWER(it.name) LIKE CONCAT('%', :text, '%') " +
+                    "       OR LOWER(it.description) LIKE CONCAT('%', :text, '%')) " +
+                    "  AND it.id > :afterId " +
+                    "ORDER BY it.id",
+            nativeQuery = true)
+    Slice<Item> fullTextSearchItemsAfter(String text, long afterId, Pageable pageable);
 
-    List<Item> findByRequestId(Long requestId);
+    @Query("SELECT new ru.practicum.shareit.item.dto.ItemResponseDto(" +
+            "    it.id, it.name, it.description, it.available, it.requestId) " +
+            "FROM Item AS it " +
+            "WHERE it.owner.id = :userId " +
+            "  AND it.id > :afterId " +
+            "ORDER BY it.id")
+    Slice<ItemResponseDto> getOwnerItems(Long userId, Long afterId, Pageable pageable);
+
+    Slice<Item> findByAvailableTrueAndIdGreaterThanOrderById(Long id, Pageable pageable);
+
+    @Query("SELECT new ru.practicum.shareit.item.dto.ItemResponseDto(" +
+            "    it.id, it.name, it.description, it.available, it.requestId) " +
+            "FROM Item AS it " +
+            "WHERE it.requestId IN :requestIds " +
+            "ORDER BY it.id")
+    List<ItemResponseDto> getRequestAnswers(Collection<Long> requestIds);
 }
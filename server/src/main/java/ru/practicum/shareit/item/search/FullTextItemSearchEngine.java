@@ -0,0 +1,30 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+
+// Полнотекстовый поиск PostgreSQL (tsvector + GIN) с триграммным индексом для поиска по подстроке
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "fulltext")
+@RequiredArgsConstructor
+public class FullTextItemSearchEngine implements ItemSearchEngine {
+
+    private final ItemRepository itemRepository;
+
+    @Override
+    public List<Item> searchItems(String text, Pageable pageable) {
+        return itemRepository.fullTextSearchItems(text, pageable).getContent();
+    }
+
+    @Override
+    public List<Item> searchItemsAfter(String text, long afterId, Pageable pageable) {
+        return itemRepository.fullTextSearchItemsAfter(text, afterId, pageable).getContent();
+    }
+
+}
@@ -0,0 +1,296 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+// Инвертированный индекс по словам из названия и описания доступных вещей.
+// Подстрока, состоящая только из букв и цифр, может входить лишь в одно слово текста,
+// поэтому такой запрос сводится к поиску подходящих слов словаря и объединению списков id.
+// Слова, содержащие подстроку, находятся по индексу n-грамм словаря без перебора всех слов.
+// Запросы с пробелами и знаками препинания дополнительно проверяются по данным из БД.
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "memory")
+@RequiredArgsConstructor
+@Slf4j
+public class InMemoryItemSearchEngine implements ItemSearchEngine {
+
+    private static final Pattern WORD = Pattern.compile("[\\p{L}\\p{N}]+");
+    private static final int BATCH_SIZE = 1000;
+    // Длина n-грамм индекса словаря: подстроки до этой длины ищутся точно, более длинные - пересечением
+    // списков слов по всем n-граммам подстроки с последующей проверкой кандидатов
+    private static final int GRAM_LENGTH = 3;
+
+    private final ItemRepository itemRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> termIds = new HashMap<>();
+    private final List<String> terms = new ArrayList<>();
+    private final List<LongPostingList> postings = new ArrayList<>();
+    // n-грамма (1..GRAM_LENGTH символов) -> номера слов словаря, в которые она входит
+    private final Map<String, LongPostingList> termGrams = new HashMap<>();
+    // id вещи -> номера слов, под которыми она проиндексирована. Удаление идет по этим словам, а не по
+    // переданному объекту, который может хранить уже неактуальные поля (например, из кэша)
+    private final Map<Long, int[]> itemTerms = new HashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            termIds.clear();
+            terms.clear();
+            postings.clear();
+            termGrams.clear();
+            itemTerms.clear();
+
+            long lastId = 0;
+            int count = 0;
+            Slice<Item> slice;
+            do {
+                slice = itemRepository.findByAvailableTrueAndIdGreaterThanOrderById(
+                        lastId, PageRequest.of(0, BATCH_SIZE));
+                for (Item item : slice.getContent()) {
+                    addItem(item.getId(), itemWords(item));
+                    lastId = item.getId();
+                    count++;
+                }
+            } while (slice.hasNext());
+            log.info("Построен индекс поиска вещей: вещей {}, слов {}", count, terms.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Вещь индексируется заново: прежние слова удаляются, недоступная вещь в индекс не попадает
+    @Override
+    public void onItemSaved(Item item) {
+        long itemId = item.getId();
+        List<String> words = Boolean.TRUE.equals(item.getAvailable()) ? itemWords(item) : List.of();
+        afterCommit(() -> {
+            removeItem(itemId);
+            addItem(itemId, words);
+        });
+    }
+
+    @Override
+    public void onItemRemoved(long itemId) {
+        afterCommit(() -> removeItem(itemId));
+    }
+
+    // Как и ItemAvailabilityIndex, индекс меняется только после фиксации транзакции: откаченная вставка
+    // не оставляет в нем записей. Слова вещи выделяются сразу, пока объект хранит сохраняемые значения
+    private void afterCommit(Runnable change) {
+        Runnable locked = () -> {
+            lock.writeLock().lock();
+            try {
+                change.run();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    locked.run();
+                }
+            });
+        } else {
+            locked.run();
+        }
+    }
+
+    @Override
+    public List<Item> searchItems(String text, Pageable pageable) {
+        List<String> words = tokenize(text);
+        if (words.isEmpty()) {
+            return itemRepository.searchItems(text, pageable).getContent();
+        }
+        return search(text, words, findIds(words), pageable);
+    }
+
+    @Override
+    public List<Item> searchItemsAfter(String text, long afterId, Pageable pageable) {
+        List<String> words = tokenize(text);
+        if (words.isEmpty()) {
+            return itemRepository.searchItemsAfter(text, afterId, pageable).getContent();
+        }
+        long[] ids = findIds(words);
+        int position = Arrays.binarySearch(ids, afterId);
+        int from = position >= 0 ? position + 1 : -position - 1;
+        return search(text, words, Arrays.copyOfRange(ids, from, ids.length), pageable);
+    }
+
+    private List<Item> search(String text, List<String> words, long[] ids, Pageable pageable) {
+        boolean singleWord = words.size() == 1 && words.get(0).equals(text);
+        if (!singleWord) {
+            return filterByText(ids, text, pageable);
+        }
+        return loadPage(ids, pageable);
+    }
+
+    private long[] findIds(List<String> words) {
+        long[] ids;
+        lock.readLock().lock();
+        try {
+            ids = findTermMatches(words.get(0));
+            for (int i = 1; i < words.size() && ids.length > 0; i++) {
+                ids = LongPostingList.intersect(ids, findTermMatches(words.get(i)));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return ids;
+    }
+
+    private long[] findTermMatches(String word) {
+        boolean exact = word.length() <= GRAM_LENGTH;
+        List<LongPostingList> matches = new ArrayList<>();
+        for (long termId : findCandidateTerms(word)) {
+            LongPostingList posting = postings.get((int) termId);
+            if (!posting.isEmpty() && (exact || terms.get((int) termId).contains(word))) {
+                matches.add(posting);
+            }
+        }
+        return LongPostingList.union(matches);
+    }
+
+    private long[] findCandidateTerms(String word) {
+        if (word.length() <= GRAM_LENGTH) {
+            LongPostingList termList = termGrams.get(word);
+            return termList != null ? termList.toArray() : new long[0];
+        }
+        long[] candidates = null;
+        for (int i = 0; i + GRAM_LENGTH <= word.length(); i++) {
+            LongPostingList termList = termGrams.get(word.substring(i, i + GRAM_LENGTH));
+            if (termList == null) {
+                return new long[0];
+            }
+            candidates = candidates == null
+                    ? termList.toArray()
+                    : LongPostingList.intersect(candidates, termList.toArray());
+            if (candidates.length == 0) {
+                break;
+            }
+        }
+        return candidates;
+    }
+
+    private List<Item> loadPage(long[] ids, Pageable pageable) {
+        int from = 0;
+        int to = ids.length;
+        if (pageable.isPaged()) {
+            from = (int) Math.min(pageable.getOffset(), ids.length);
+            to = Math.min(from + pageable.getPageSize(), ids.length);
+        }
+        return loadItems(Arrays.copyOfRange(ids, from, to));
+    }
+
+    // Кандидаты загружаются порциями до тех пор, пока не наберется нужное для страницы число совпадений
+    private List<Item> filterByText(long[] ids, String text, Pageable pageable) {
+        long needed = pageable.isPaged() ? pageable.getOffset() + pageable.getPageSize() : Long.MAX_VALUE;
+        int chunkSize = (int) Math.min(BATCH_SIZE, needed);
+        List<Item> found = new ArrayList<>();
+        for (int from = 0; from < ids.length && found.size() < needed; from += chunkSize) {
+            long[] chunk = Arrays.copyOfRange(ids, from, Math.min(from + chunkSize, ids.length));
+            for (Item item : loadItems(chunk)) {
+                if (item.getName().toLowerCase().contains(text) || item.getDescription().toLowerCase().contains(text)) {
+                    found.add(item);
+                }
+            }
+        }
+        if (pageable.isUnpaged()) {
+            return found;
+        }
+        int from = (int) Math.min(pageable.getOffset(), found.size());
+        return found.subList(from, Math.min(from + pageable.getPageSize(), found.size()));
+    }
+
+    private List<Item> loadItems(long[] ids) {
+        if (ids.length == 0) {
+            return new ArrayList<>();
+        }
+        List<Long> idList = Arrays.stream(ids).boxed().collect(Collectors.toList());
+        return itemRepository.findAllById(idList).stream()
+                .filter(item -> Boolean.TRUE.equals(item.getAvailable()))
+                .sorted(Comparator.comparing(Item::getId))
+                .collect(Collectors.toList());
+    }
+
+    private void addItem(long itemId, List<String> words) {
+        if (words.isEmpty()) {
+            return;
+        }
+        int[] itemTermIds = new int[words.size()];
+        int count = 0;
+        for (String word : words) {
+            Integer termId = termIds.get(word);
+            if (termId == null) {
+                termId = terms.size();
+                termIds.put(word, termId);
+                terms.add(word);
+                postings.add(new LongPostingList());
+                indexTerm(termId, word);
+            }
+            postings.get(termId).add(itemId);
+            itemTermIds[count++] = termId;
+        }
+        itemTerms.put(itemId, itemTermIds);
+    }
+
+    private void indexTerm(int termId, String term) {
+        for (int length = 1; length <= GRAM_LENGTH; length++) {
+            for (int i = 0; i + length <= term.length(); i++) {
+                termGrams.computeIfAbsent(term.substring(i, i + length), gram -> new LongPostingList()).add(termId);
+            }
+        }
+    }
+
+    private void removeItem(long itemId) {
+        int[] itemTermIds = itemTerms.remove(itemId);
+        if (itemTermIds == null) {
+            return;
+        }
+        for (int termId : itemTermIds) {
+            postings.get(termId).remove(itemId);
+        }
+    }
+
+    private List<String> itemWords(Item item) {
+        List<String> words = tokenize(item.getName().toLowerCase());
+        words.addAll(tokenize(item.getDescription().toLowerCase()));
+        return words;
+    }
+
+    private static List<String> tokenize(String text) {
+        List<String> words = new ArrayList<>();
+        Matcher matcher = WORD.matcher(text);
+        while (matcher.find()) {
+            words.add(matcher.group());
+        }
+        return words;
+    }
+
+}
@@ -0,0 +1,24 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+public interface ItemSearchEngine {
+
+    // text передается в нижнем регистре; в выборку попадают только доступные для аренды вещи
+    List<Item> searchItems(String text, Pageable pageable);
+
+    // Выборка по курсору: вещи с id больше afterId в порядке возрастания id
+    List<Item> searchItemsAfter(String text, long afterId, Pageable pageable);
+
+    // Вызывается после сохранения вещи (добавления или изменения) с сохраненными значениями полей
+    default void onItemSaved(Item item) {
+    }
+
+    // Вызывается после удаления вещи, в том числе каскадного вместе с владельцем
+    default void onItemRemoved(long itemId) {
+    }
+
+}
@@ -0,0 +1,30 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+
+// Поиск подстроки через LIKE, работает на любой СУБД (в том числе на H2)
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "like", matchIfMissing = true)
+@RequiredArgsConstructor
+public class LikeItemSearchEngine implements ItemSearchEngine {
+
+    private final ItemRepository itemRepository;
+
+    @Override
+    public List<Item> searchItems(String text, Pageable pageable) {
+        return itemRepository.searchItems(text, pageable).getContent();
+    }
+
+    @Override
+    public List<Item> searchItemsAfter(String text, long afterId, Pageable pageable) {
+        return itemRepository.searchItemsAfter(text, afterId, pageable).getContent();
+    }
+
+}
@@ -1,11 +1,14 @@
 package ru.practicum.shareit.item.service;
 
 import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.dto.AvailabilityWindowDto;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.utility.BatchRowResult;
+import ru.practicum.shareit.utility.PageCursor;
 
 import java.util.List;
 
@@ -13,14 +16,18 @@ public interface ItemService {
 
     Item addItem(ItemDto dto);
 
+    List<BatchRowResult<ItemResponseDto>> addItems(Long userId, List<ItemDto> dtoList);
+
     Item updateItem(ItemDto dto);
 
     ItemResponseDto getItem(Long itemId, Long userId);
 
-    List<ItemResponseDto> getOwnerItems(Long userId, Pageable pageable);
+    List<ItemResponseDto> getOwnerItems(Long userId, PageCursor after, Pageable pageable);
 
-    List<ItemResponseDto> searchItems(String text, Pageable pageable);
+    List<ItemResponseDto> searchItems(String text, PageCursor after, Pageable pageable);
 
     Comment addComment(CommentDto dto);
 
+    List<AvailabilityWindowDto> getItemAvailability(Long itemId, String from, String to);
+
 }
@@ -2,11 +2,16 @@ package ru.practicum.shareit.item.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
-import ru.practicum.shareit.booking.model.Booking;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.ItemBookingView;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.ItemAvailabilityIndex;
 import ru.practicum.shareit.errorhandler.model.Violation;
+import ru.practicum.shareit.exceptions.ConflictException;
 import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.exceptions.ValidationException;
 import ru.practicum.shareit.item.dto.*;
@@ -15,12 +20,26 @@ import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.model.OwnerBookingInfo;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.utility.BatchRowResult;
+import ru.practicum.shareit.utility.FieldValidator;
+import ru.practicum.shareit.utility.PageCursor;
 
 import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -32,6 +51,9 @@ public class ItemServiceImpl implements ItemService {
     private final UserRepository userRepository;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
+    private final ItemRequestRepository requestRepository;
+    private final ItemSearchEngine itemSearchEngine;
+    private final ItemAvailabilityIndex availabilityIndex;
 
     @Override
     public Item addItem(ItemDto dto) {
@@ -39,58 +61,151 @@ public class ItemServiceImpl implements ItemService {
         item.setOwner(getUserById(dto.getOwnerId()));
 
         Item savedItem = itemRepository.save(item);
+        itemSearchEngine.onItemSaved(savedItem);
         log.info("Добавлена новая вещь: {}", savedItem);
         return savedItem;
     }
 
+    // Владелец и запросы, на которые отвечают вещи, проверяются одним запросом на весь пакет;
+    // корректные строки сохраняются одним вызовом saveAll, ошибки возвращаются по каждой строке.
+    // Метод не транзакционный: saveAll выполняется в собственной транзакции, и ее откат ограничением БД
+    // можно перехватить и повторить вставку построчно
+    @Override
+    public List<BatchRowResult<ItemResponseDto>> addItems(Long userId, List<ItemDto> dtoList) {
+        BatchRowResult.checkBatchSize(dtoList);
+        User owner = getUserById(userId);
+        Set<Long> requestIds = dtoList.stream()
+                .map(ItemDto::getRequestId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<Long> existingRequestIds = requestIds.isEmpty() ? Set.of() : requestRepository.findAllById(requestIds)
+                .stream()
+                .map(ItemRequest::getId)
+                .collect(Collectors.toSet());
+
+        List<BatchRowResult<ItemResponseDto>> results = new ArrayList<>(Collections.nCopies(dtoList.size(), null));
+        Map<Integer, Item> candidates = new LinkedHashMap<>();
+        for (int row = 0; row < dtoList.size(); row++) {
+            ItemDto dto = dtoList.get(row);
+            try {
+                checkNewItem(dto, existingRequestIds);
+                Item item = ItemMapper.mapDtoToItem(dto);
+                item.setId(null);
+                item.setOwner(owner);
+                candidates.put(row, item);
+            } catch (ValidationException e) {
+                results.set(row, BatchRowResult.failure(row, e.getViolation().getMessage()));
+            }
+        }
+
+        Map<Integer, Item> saved = saveBatch(candidates, results);
+        saved.forEach((row, savedItem) -> {
+            itemSearchEngine.onItemSaved(savedItem);
+            results.set(row, BatchRowResult.success(row, ItemMapper.mapItemToDto(savedItem)));
+        });
+        log.info("Пакетное добавление вещей: добавлено {} из {}", saved.size(), dtoList.size());
+        return results;
+    }
+
+    private Map<Integer, Item> saveBatch(Map<Integer, Item> candidates,
+                                         List<BatchRowResult<ItemResponseDto>> results) {
+        if (candidates.isEmpty()) {
+            return Map.of();
+        }
+        try {
+            List<Item> savedItems = itemRepository.saveAll(candidates.values());
+            Map<Integer, Item> saved = new LinkedHashMap<>();
+            int index = 0;
+            for (Integer row : candidates.keySet()) {
+                saved.put(row, savedItems.get(index++));
+            }
+            return saved;
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Пакетное добавление вещей отклонено ограничением БД, строки сохраняются по одной", e);
+            return saveRowByRow(candidates, results);
+        }
+    }
+
+    // Вставка пакета откатывается целиком из-за любой строки, нарушающей ограничение БД (например, длину
+    // названия); при повторе по одной ошибку получают только такие строки
+    private Map<Integer, Item> saveRowByRow(Map<Integer, Item> candidates,
+                                            List<BatchRowResult<ItemResponseDto>> results) {
+        Map<Integer, Item> saved = new LinkedHashMap<>();
+        candidates.forEach((row, item) -> {
+            // Идентификатор и версия были присвоены в откаченной транзакции
+            item.setId(null);
+            item.setVersion(null);
+            try {
+                saved.put(row, itemRepository.save(item));
+            } catch (DataIntegrityViolationException e) {
+                results.set(row, BatchRowResult.failure(row,
+                        "Вещь не сохранена: данные не соответствуют ограничениям БД"));
+            }
+        });
+        return saved;
+    }
+
     @Override
     public Item updateItem(ItemDto dto) {
         Item item = ItemMapper.mapDtoToItem(dto);
         item.setOwner(getUserById(dto.getOwnerId()));
 
-        checkNotBlankField(item.getName(), "Название");
-        checkNotBlankField(item.getDescription(), "Описание");
+        FieldValidator.checkNotBlankIfPresent(item.getName(), "Название", "Название вещи не может быть пустым!");
+        FieldValidator.checkNotBlankIfPresent(
+                item.getDescription(), "Описание", "Описание вещи не может быть пустым!");
 
         Item oldItem = getItemById(item.getId());
-        Item savedItem = itemRepository.save(ItemMapper.patchItem(oldItem, item));
+        Item savedItem;
+        try {
+            savedItem = itemRepository.save(ItemMapper.patchItem(oldItem, item));
+        } catch (OptimisticLockingFailureException e) {
+            itemRepository.evictCached(item.getId());
+            throw new ConflictException(
+                    new Violation("item", "Вещь была изменена другим запросом, повторите операцию"));
+        }
+        itemSearchEngine.onItemSaved(savedItem);
         log.info("Информация о вещи обновлена: {}", savedItem);
         return savedItem;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ItemResponseDto getItem(Long itemId, Long userId) {
         Item item = getItemById(itemId);
         log.info("Получена информация о вещи с id={}: {}", itemId, item);
 
         ItemResponseDto dto = ItemMapper.mapItemToDto(item);
 
-        List<Comment> comments = commentRepository.findByItemId(itemId);
-        dto.setComments(CommentMapper.mapCommentsToListDto(comments));
+        dto.setComments(commentRepository.getItemComments(itemId));
 
-        patchOwnerBookingInfo(dto, userId);
+        patchOwnerBookingInfo(List.of(dto), userId);
 
         return dto;
     }
 
     @Override
-    public List<ItemResponseDto> getOwnerItems(Long userId, Pageable pageable) {
-        List<Item> items = itemRepository.findByOwnerIdOrderById(userId, pageable).getContent();
-        log.info("Получен список вещей пользователя (count: {})", items.size());
+    @Transactional(readOnly = true)
+    public List<ItemResponseDto> getOwnerItems(Long userId, PageCursor after, Pageable pageable) {
+        PageCursor cursor = after != null ? after : PageCursor.ASC_START;
+        List<ItemResponseDto> dtoList = itemRepository.getOwnerItems(
+                userId, cursor.getId(), pageable).getContent();
+        log.info("Получен список вещей пользователя (count: {})", dtoList.size());
 
-        return items.stream()
-                .map(ItemMapper::mapItemToDto)
-                .map(item -> patchOwnerBookingInfo(item, userId))
-                .collect(Collectors.toList());
+        patchOwnerBookingInfo(dtoList, userId);
+        return dtoList;
     }
 
     @Override
-    public List<ItemResponseDto> searchItems(String text, Pageable pageable) {
+    @Transactional(readOnly = true)
+    public List<ItemResponseDto> searchItems(String text, PageCursor after, Pageable pageable) {
         if (text.isEmpty()) {
             log.info("Не определены критерии поиска вещи");
             return new ArrayList<>();
         }
 
-        List<Item> items = itemRepository.searchItems(text.toLowerCase(), pageable).getContent();
+        List<Item> items = after == null
+                ? itemSearchEngine.searchItems(text.toLowerCase(), pageable)
+                : itemSearchEngine.searchItemsAfter(text.toLowerCase(), after.getId(), pageable);
         log.info("Сформирован список вещей по фразе '{}'. Найдено совпадений: {}", text, items.size());
 
         return items.stream()
@@ -100,6 +215,7 @@ public class ItemServiceImpl implements ItemService {
 
     @Override
     public Comment addComment(CommentDto dto) {
+        FieldValidator.checkNotBlank(dto.getText(), "text", "Текст комментария не может быть пустым!");
         Comment comment = CommentMapper.mapDtoToComment(dto);
         comment.setItem(getItemById(dto.getItemId()));
         comment.setAuthor(getUserById(dto.getUserId()));
@@ -117,6 +233,21 @@ public class ItemServiceImpl implements ItemService {
         return savedComment;
     }
 
+    @Override
+    public List<AvailabilityWindowDto> getItemAvailability(Long itemId, String from, String to) {
+        getItemById(itemId);
+        LocalDateTime fromDate = parseDateTime(from, "from");
+        LocalDateTime toDate = parseDateTime(to, "to");
+        if (!toDate.isAfter(fromDate)) {
+            throw new ValidationException(
+                    new Violation("to", "Окончание периода должно быть позже его начала!"));
+        }
+
+        List<AvailabilityWindowDto> windows = availabilityIndex.getFreeWindows(itemId, fromDate, toDate);
+        log.info("Получены свободные периоды вещи с id={} (count: {})", itemId, windows.size());
+        return windows;
+    }
+
     private User getUserById(Long userId) {
         return userRepository.findById(userId).orElseThrow(() ->
                 new NotFoundException(
@@ -129,32 +260,54 @@ public class ItemServiceImpl implements ItemService {
                         new Violation("item", String.format("Вещь с id=%d не найдена!", itemId))));
     }
 
-    private void checkNotBlankField(String value, String name) {
-        if (value != null && value.isBlank()) {
+    private LocalDateTime parseDateTime(String value, String name) {
+        try {
+            return LocalDateTime.parse(value, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+        } catch (DateTimeParseException e) {
+            throw new ValidationException(
+                    new Violation(name, "Некорректный формат даты: " + value));
+        }
+    }
+
+    private void checkNewItem(ItemDto dto, Set<Long> existingRequestIds) {
+        FieldValidator.checkNotBlank(dto.getName(), "name", "Название вещи не может быть пустым!");
+        FieldValidator.checkNotBlank(dto.getDescription(), "description", "Описание вещи не может быть пустым!");
+        FieldValidator.checkNotNull(dto.getAvailable(), "available", "Не задана доступность вещи для аренды!");
+        if (dto.getRequestId() != null && !existingRequestIds.contains(dto.getRequestId())) {
             throw new ValidationException(
-                    new Violation(name, name + " вещи не может быть пустым!"));
+                    new Violation("requestId", String.format("Не найден запрос вещи с id=%d", dto.getRequestId())));
         }
     }
 
-    private OwnerBookingInfo getBookingInfo(Booking booking) {
+    private OwnerBookingInfo getBookingInfo(ItemBookingView booking) {
         if (booking == null) {
             return null;
         }
         OwnerBookingInfo bookingInfo = new OwnerBookingInfo();
-        bookingInfo.setBookingId(booking.getId());
-        bookingInfo.setBookerId(booking.getUser().getId());
+        bookingInfo.setBookingId(booking.getBookingId());
+        bookingInfo.setBookerId(booking.getBookerId());
         return bookingInfo;
     }
 
-    private ItemResponseDto patchOwnerBookingInfo(ItemResponseDto dto, Long userId) {
-        OwnerBookingInfo lastBooking = getBookingInfo(
-                bookingRepository.getLastBooking(dto.getId(), userId));
-        OwnerBookingInfo nextBooking = getBookingInfo(
-                bookingRepository.getNextBooking(dto.getId(), userId));
+    private Map<Long, ItemBookingView> mapBookingsByItem(List<ItemBookingView> bookings) {
+        return bookings.stream()
+                .collect(Collectors.toMap(ItemBookingView::getItemId, Function.identity(), (first, second) -> first));
+    }
 
-        dto.setLastBooking(lastBooking);
-        dto.setNextBooking(nextBooking);
-        return dto;
+    private void patchOwnerBookingInfo(List<ItemResponseDto> dtoList, Long userId) {
+        if (dtoList.isEmpty()) {
+            return;
+        }
+        List<Long> itemIds = dtoList.stream()
+                .map(ItemResponseDto::getId)
+                .collect(Collectors.toList());
+        Map<Long, ItemBookingView> lastBookings = mapBookingsByItem(bookingRepository.getLastBookings(itemIds, userId));
+        Map<Long, ItemBookingView> nextBookings = mapBookingsByItem(bookingRepository.getNextBookings(itemIds, userId));
+
+        for (ItemResponseDto dto : dtoList) {
+            dto.setLastBooking(getBookingInfo(lastBookings.get(dto.getId())));
+            dto.setNextBooking(getBookingInfo(nextBookings.get(dto.getId())));
+        }
     }
 
 }
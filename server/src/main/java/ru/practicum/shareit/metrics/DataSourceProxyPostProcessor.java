@@ -0,0 +1,32 @@
+package ru.practicum.shareit.metrics;
+
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+// Оборачивает пул соединений прокси datasource-proxy, через который проходят все SQL-запросы сервера
+// (JPA, Flyway). Сам пул остается доступным через unwrap, поэтому метрики Hikari продолжают работать
+@Component
+public class DataSourceProxyPostProcessor implements BeanPostProcessor {
+
+    private final long slowQueryMs;
+
+    public DataSourceProxyPostProcessor(@Value("${shareit.query-count.slow-query-ms:500}") long slowQueryMs) {
+        this.slowQueryMs = slowQueryMs;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource)) {
+            return bean;
+        }
+        return ProxyDataSourceBuilder.create((DataSource) bean)
+                .name(beanName)
+                .listener(new QueryCountListener(slowQueryMs))
+                .build();
+    }
+
+}
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.boot.actuate.metrics.data.DefaultRepositoryTagsProvider;
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener.RepositoryMethodInvocation;
+import org.springframework.stereotype.Component;
+
+// Spring Boot сам измеряет каждый вызов репозитория (spring.data.repository.invocations с тегами
+// repository, method, state, exception); к ним добавляется endpoint запроса, из которого выполнен вызов,
+// чтобы по числу вызовов на endpoint было видно N+1
+@Component
+public class EndpointRepositoryTagsProvider extends DefaultRepositoryTagsProvider {
+
+    @Override
+    public Iterable<Tag> repositoryTags(RepositoryMethodInvocation invocation) {
+        return Tags.of(super.repositoryTags(invocation)).and("endpoint", EndpointTags.currentEndpoint());
+    }
+
+}
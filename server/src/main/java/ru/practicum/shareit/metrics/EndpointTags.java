@@ -0,0 +1,32 @@
+package ru.practicum.shareit.metrics;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+
+// Тег endpoint для метрик: метод и шаблон пути обрабатываемого запроса (например, "GET /items/{itemId}").
+// Используется шаблон, а не фактический путь, чтобы число значений тега не зависело от идентификаторов
+public final class EndpointTags {
+
+    public static final String NONE = "none";
+
+    private EndpointTags() {
+    }
+
+    public static String currentEndpoint() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes)) {
+            return NONE;
+        }
+        return endpoint(((ServletRequestAttributes) attributes).getRequest());
+    }
+
+    public static String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? request.getMethod() + " " + pattern : NONE;
+    }
+
+}
@@ -0,0 +1,113 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.PrintWriter;
+
+// Считает SQL-запросы каждого HTTP-запроса: число публикуется метрикой shareit.http.queries (тег endpoint)
+// и, если включено, заголовком X-Query-Count; запросы, превысившие порог, пишутся в журнал вместе с текстом SQL
+@Component
+@Slf4j
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Query-Count";
+    public static final String METRIC_NAME = "shareit.http.queries";
+
+    private final MeterRegistry registry;
+    private final boolean headerEnabled;
+    private final int logThreshold;
+
+    public QueryCountFilter(MeterRegistry registry,
+                            @Value("${shareit.query-count.header-enabled:false}") boolean headerEnabled,
+                            @Value("${shareit.query-count.log-threshold:20}") int logThreshold) {
+        this.registry = registry;
+        this.headerEnabled = headerEnabled;
+        this.logThreshold = logThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        QueryCounter.Counter previous = QueryCounter.current();
+        QueryCounter.Counter counter = QueryCounter.start();
+        QueryCountResponseWrapper responseWrapper = headerEnabled
+                ? new QueryCountResponseWrapper(response, counter)
+                : null;
+        try {
+            chain.doFilter(request, responseWrapper != null ? responseWrapper : response);
+            if (responseWrapper != null) {
+                responseWrapper.writeHeader();
+            }
+        } finally {
+            QueryCounter.stop(previous);
+            report(request, counter);
+        }
+    }
+
+    private void report(HttpServletRequest request, QueryCounter.Counter counter) {
+        String endpoint = EndpointTags.endpoint(request);
+        DistributionSummary.builder(METRIC_NAME)
+                .tag("endpoint", endpoint)
+                .register(registry)
+                .record(counter.getCount());
+
+        if (counter.getCount() > logThreshold) {
+            log.warn("Запрос {} {} ({}) выполнил SQL-запросов: {} за {} мс (порог {}):{}{}",
+                    request.getMethod(), request.getRequestURI(), endpoint, counter.getCount(),
+                    counter.getElapsedMs(), logThreshold, System.lineSeparator(),
+                    counter.formatStatements());
+        }
+    }
+
+    // Заголовок выставляется перед началом записи тела ответа, т.е. после выполнения обработчика запроса;
+    // запросы, выполненные позже (например, ленивая загрузка при сериализации), в заголовок не попадают
+    private static class QueryCountResponseWrapper extends HttpServletResponseWrapper {
+
+        private final QueryCounter.Counter counter;
+        private boolean headerWritten;
+
+        QueryCountResponseWrapper(HttpServletResponse response, QueryCounter.Counter counter) {
+            super(response);
+            this.counter = counter;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeader();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeader();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeader();
+            super.flushBuffer();
+        }
+
+        void writeHeader() {
+            if (!headerWritten && !isCommitted()) {
+                setHeader(HEADER, String.valueOf(counter.getCount()));
+            }
+            headerWritten = true;
+        }
+
+    }
+
+}
@@ -0,0 +1,55 @@
+package ru.practicum.shareit.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+// Учитывает каждое обращение к БД (пакет JDBC-batch - одно обращение) в счетчике текущего потока
+// и пишет в журнал отдельные запросы, выполнявшиеся дольше порога
+@Slf4j
+public class QueryCountListener implements QueryExecutionListener {
+
+    private final long slowQueryMs;
+
+    public QueryCountListener(long slowQueryMs) {
+        this.slowQueryMs = slowQueryMs;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    // Текст запроса собирается только если он нужен: для запущенного счетчика или для журнала медленных
+    // запросов; остальные обращения к БД обходятся без дополнительных аллокаций
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsedMs = execInfo.getElapsedTime();
+        boolean counted = QueryCounter.current() != null;
+        boolean slow = elapsedMs >= slowQueryMs;
+        if (!counted && !slow) {
+            return;
+        }
+
+        String sql = describe(execInfo, queryInfoList);
+        if (counted) {
+            QueryCounter.record(sql, elapsedMs);
+        }
+        if (slow) {
+            log.warn("Медленный SQL-запрос ({} мс): {}", elapsedMs, sql);
+        }
+    }
+
+    private static String describe(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        String sql = queryInfoList.size() == 1
+                ? queryInfoList.get(0).getQuery()
+                : queryInfoList.stream()
+                        .map(QueryInfo::getQuery)
+                        .collect(Collectors.joining("; "));
+        return execInfo.isBatch() ? sql + " [batch: " + execInfo.getBatchSize() + "]" : sql;
+    }
+
+}
@@ -0,0 +1,93 @@
+package ru.practicum.shareit.metrics;
+
+import org.springframework.lang.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Счетчик SQL-запросов текущего потока. Запускается фильтром QueryCountFilter на время HTTP-запроса
+// и тестами; запросы потоков без запущенного счетчика (миграции, фоновые задачи)
+// не учитываются
+public final class QueryCounter {
+
+    // Для журнала сохраняется текст только первых запросов, счетчик учитывает все
+    static final int MAX_RECORDED_STATEMENTS = 50;
+
+    private static final ThreadLocal<Counter> CURRENT = new ThreadLocal<>();
+
+    private QueryCounter() {
+    }
+
+    // Вложенный счетчик (например, фильтр внутри проверки в тесте) учитывает запросы и во внешнем
+    static Counter start() {
+        Counter counter = new Counter(CURRENT.get());
+        CURRENT.set(counter);
+        return counter;
+    }
+
+    static void stop(@Nullable Counter previous) {
+        if (previous != null) {
+            CURRENT.set(previous);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    @Nullable
+    static Counter current() {
+        return CURRENT.get();
+    }
+
+    static void record(String sql, long elapsedMs) {
+        for (Counter counter = CURRENT.get(); counter != null; counter = counter.parent) {
+            counter.record(sql, elapsedMs);
+        }
+    }
+
+    public static class Counter {
+
+        @Nullable
+        private final Counter parent;
+        private int count;
+        private long elapsedMs;
+        // record вызывается на каждый SQL-запрос, поэтому сохраняются только текст и время, а строки
+        // для журнала собираются в formatStatements, только когда запрос превысил порог
+        private final List<String> statements = new ArrayList<>();
+        private final List<Long> statementElapsedMs = new ArrayList<>();
+
+        Counter(@Nullable Counter parent) {
+            this.parent = parent;
+        }
+
+        void record(String sql, long elapsed) {
+            count++;
+            elapsedMs += elapsed;
+            if (statements.size() < MAX_RECORDED_STATEMENTS) {
+                statements.add(sql);
+                statementElapsedMs.add(elapsed);
+            }
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public long getElapsedMs() {
+            return elapsedMs;
+        }
+
+        // Сохраненные запросы по одному на строке: "(время мс) текст SQL"
+        public String formatStatements() {
+            StringBuilder builder = new StringBuilder();
+            for (int i = 0; i < statements.size(); i++) {
+                if (i > 0) {
+                    builder.append(System.lineSeparator());
+                }
+                builder.append('(').append(statementElapsedMs.get(i)).append(" мс) ").append(statements.get(i));
+            }
+            return builder.toString();
+        }
+
+    }
+
+}
@@ -0,0 +1,57 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.model.BookingState;
+
+// Таймер shareit.service.invocations на каждый вызов методов сервисов бронирований, вещей, запросов
+// и пользователей. Теги: сервис, метод, endpoint запроса, состояние бронирования (для выборок по state)
+// и класс исключения. Гистограмма включается свойством management.metrics.distribution.percentiles-histogram
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+
+    public static final String METRIC_NAME = "shareit.service.invocations";
+
+    private final MeterRegistry registry;
+
+    @Around("within(ru.practicum.shareit.booking.service.BookingService+)"
+            + " || within(ru.practicum.shareit.item.service.ItemService+)"
+            + " || within(ru.practicum.shareit.request.service.ItemRequestService+)"
+            + " || within(ru.practicum.shareit.user.service.UserService+)")
+    public Object timeServiceMethod(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(registry);
+        String exception = EndpointTags.NONE;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            Tags tags = Tags.of(
+                    "service", joinPoint.getSignature().getDeclaringType().getSimpleName(),
+                    "method", joinPoint.getSignature().getName(),
+                    "endpoint", EndpointTags.currentEndpoint(),
+                    "state", getBookingState(joinPoint.getArgs()),
+                    "exception", exception);
+            sample.stop(registry.timer(METRIC_NAME, tags));
+        }
+    }
+
+    private static String getBookingState(Object[] args) {
+        for (Object arg : args) {
+            if (arg instanceof BookingState) {
+                return ((BookingState) arg).name();
+            }
+        }
+        return EndpointTags.NONE;
+    }
+
+}
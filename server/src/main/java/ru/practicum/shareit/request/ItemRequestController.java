@@ -10,7 +10,11 @@ import ru.practicum.shareit.request.dto.RequestWithAnswerDto;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.service.ItemRequestService;
 import ru.practicum.shareit.utility.PageCalc;
+import ru.practicum.shareit.utility.PageCursor;
 
+import javax.servlet.http.HttpServletResponse;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.List;
 
 @RestController
@@ -44,13 +48,20 @@ public class ItemRequestController {
     public List<RequestWithAnswerDto> getAllItemRequests(
             @RequestHeader ("X-Sharer-User-Id") Long userId,
             @RequestParam(required = false) Integer from,
-            @RequestParam(defaultValue = "20") Integer size
+            @RequestParam(defaultValue = "20") Integer size,
+            @RequestParam(required = false) String after,
+            HttpServletResponse response
     ) {
         log.info(
                 "Получен запрос на получение списка всех запросов вещей: userId={}, " +
-                "параметры пагинации: from={}, size={}",
-                userId, from, size);
-        return requestService.getAllItemRequests(userId, PageCalc.getPageable(from, size));
+                "параметры пагинации: from={}, size={}, after={}",
+                userId, from, size, after);
+        PageCursor cursor = PageCursor.decodeTimed(after);
+        List<RequestWithAnswerDto> list = requestService.getAllItemRequests(
+                userId, cursor, PageCalc.getPageable(from, size, cursor));
+        PageCalc.setNextCursor(response, list, size, request -> PageCursor.of(
+                LocalDateTime.parse(request.getCreated(), DateTimeFormatter.ISO_LOCAL_DATE_TIME), request.getId()));
+        return list;
     }
 
     @GetMapping("/{requestId}")
@@ -1,14 +1,25 @@
 package ru.practicum.shareit.request.dto;
 
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.List;
 
 @Data
+@NoArgsConstructor
 public class RequestWithAnswerDto {
     private Long id;
     private String description;
     private String created;
     private List<ItemResponseDto> items;
+
+    // Используется в JPQL-запросах (SELECT new ...); список ответов заполняется отдельным запросом
+    public RequestWithAnswerDto(Long id, String description, LocalDateTime created) {
+        this.id = id;
+        this.description = description;
+        this.created = created.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+    }
 }
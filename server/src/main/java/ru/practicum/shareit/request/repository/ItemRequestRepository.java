@@ -3,17 +3,31 @@ package ru.practicum.shareit.request.repository;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.request.dto.RequestWithAnswerDto;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
 
-    List<ItemRequest> findByUserOrderByCreatedDesc(User user);
+    @Query("SELECT new ru.practicum.shareit.request.dto.RequestWithAnswerDto(r.id, r.description, r.created) " +
+            "FROM ItemRequest AS r " +
+            "WHERE r.user.id = :userId " +
+            "ORDER BY r.created DESC, r.id DESC")
+    List<RequestWithAnswerDto> getUserRequests(Long userId);
 
-    Slice<ItemRequest> findByUserNotOrderByCreatedDesc(User user, Pageable pageable);
+    @Query("SELECT new ru.practicum.shareit.request.dto.RequestWithAnswerDto(r.id, r.description, r.created) " +
+            "FROM ItemRequest AS r " +
+            "WHERE r.user <> :user " +
+            "  AND r.created <= :afterCreated " +
+            "  AND (r.created < :afterCreated OR r.id < :afterId) " +
+            "ORDER BY r.created DESC, r.id DESC")
+    Slice<RequestWithAnswerDto> getOtherUsersRequests(User user, LocalDateTime afterCreated, long afterId,
+                                                      Pageable pageable);
 
     Optional<ItemRequest> findItemRequestById(Long id);
 }
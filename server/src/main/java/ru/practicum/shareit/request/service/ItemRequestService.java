@@ -4,6 +4,7 @@ import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.RequestWithAnswerDto;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.utility.PageCursor;
 
 import java.util.List;
 
@@ -13,7 +14,7 @@ public interface ItemRequestService {
 
     List<RequestWithAnswerDto> getOwnItemRequests(Long userId);
 
-    List<RequestWithAnswerDto> getAllItemRequests(Long userId, Pageable pageable);
+    List<RequestWithAnswerDto> getAllItemRequests(Long userId, PageCursor after, Pageable pageable);
 
     RequestWithAnswerDto getItemRequest(Long userId, Long requestId);
 
@@ -4,11 +4,10 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.errorhandler.model.Violation;
 import ru.practicum.shareit.exceptions.NotFoundException;
-import ru.practicum.shareit.item.dto.ItemMapper;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
-import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestMapper;
@@ -17,9 +16,12 @@ import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.utility.PageCursor;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -43,22 +45,27 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<RequestWithAnswerDto> getOwnItemRequests(Long userId) {
-        User user = getUserById(userId);
-        List<ItemRequest> requests = requestRepository.findByUserOrderByCreatedDesc(user);
+        getUserById(userId);
+        List<RequestWithAnswerDto> requests = requestRepository.getUserRequests(userId);
         log.info("Получен список запросов вещей, количество записей: {}", requests.size());
-        return getRequestWithAnswerDtoList(requests);
+        return fillRequestAnswers(requests);
     }
 
     @Override
-    public List<RequestWithAnswerDto> getAllItemRequests(Long userId, Pageable pageable) {
+    @Transactional(readOnly = true)
+    public List<RequestWithAnswerDto> getAllItemRequests(Long userId, PageCursor after, Pageable pageable) {
         User user = getUserById(userId);
-        List<ItemRequest> requests = requestRepository.findByUserNotOrderByCreatedDesc(user, pageable).getContent();
+        PageCursor cursor = after != null ? after : PageCursor.DESC_START;
+        List<RequestWithAnswerDto> requests = requestRepository.getOtherUsersRequests(
+                user, cursor.getTime(), cursor.getId(), pageable).getContent();
         log.info("Получен список запросов вещей, количество записей: {}", requests.size());
-        return getRequestWithAnswerDtoList(requests);
+        return fillRequestAnswers(requests);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public RequestWithAnswerDto getItemRequest(Long userId, Long requestId) {
         getUserById(userId);
         ItemRequest itemRequest = requestRepository.findItemRequestById(requestId).orElseThrow(() ->
@@ -75,17 +82,21 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     }
 
     private List<ItemResponseDto> getItemsByRequest(Long requestId) {
-        List<Item> items = itemRepository.findByRequestId(requestId);
-        return items.stream()
-                .map(ItemMapper::mapItemToDto)
-                .collect(Collectors.toList());
+        return itemRepository.getRequestAnswers(List.of(requestId));
     }
 
-    private List<RequestWithAnswerDto> getRequestWithAnswerDtoList(List<ItemRequest> requests) {
-        return requests.stream()
-                .map(itemRequest ->
-                        ItemRequestMapper.mapRequestWithAnswerDto(itemRequest, getItemsByRequest(itemRequest.getId())))
+    private List<RequestWithAnswerDto> fillRequestAnswers(List<RequestWithAnswerDto> requests) {
+        if (requests.isEmpty()) {
+            return requests;
+        }
+        List<Long> requestIds = requests.stream()
+                .map(RequestWithAnswerDto::getId)
                 .collect(Collectors.toList());
+        Map<Long, List<ItemResponseDto>> answers = itemRepository.getRequestAnswers(requestIds).stream()
+                .collect(Collectors.groupingBy(ItemResponseDto::getRequestId));
+
+        requests.forEach(request -> request.setItems(answers.getOrDefault(request.getId(), new ArrayList<>())));
+        return requests;
     }
 
 }
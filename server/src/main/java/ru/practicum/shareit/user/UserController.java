@@ -3,6 +3,7 @@ package ru.practicum.shareit.user;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserMapper;
 import ru.practicum.shareit.user.model.User;
@@ -38,9 +39,14 @@ public class UserController {
     }
 
     @GetMapping("/{userId}")
-    public UserDto getUser(@PathVariable Long userId) {
+    public UserDto getUser(@PathVariable Long userId, WebRequest request) {
         log.info("Получен GET-запрос на получение информации о пользователе: id={}", userId);
         User user = userService.getUser(userId);
+        // Представление пользователя полностью определяется версией сущности, поэтому при совпадении
+        // If-None-Match ответ 304 отдаётся без сериализации тела
+        if (request.checkNotModified(String.format("\"user-%d-v%d\"", user.getId(), user.getVersion()))) {
+            return null;
+        }
         return UserMapper.mapUserToDto(user);
     }
 
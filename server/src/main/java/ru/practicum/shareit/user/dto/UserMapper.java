@@ -27,6 +27,7 @@ public class UserMapper {
         if (newUser.getEmail() == null) {
             newUser.setEmail(oldUser.getEmail());
         }
+        newUser.setVersion(oldUser.getVersion());
         return newUser;
     }
 
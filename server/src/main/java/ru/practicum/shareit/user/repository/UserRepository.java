@@ -1,7 +1,35 @@
 package ru.practicum.shareit.user.repository;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.data.jpa.repository.JpaRepository;
 import ru.practicum.shareit.user.model.User;
 
+import java.util.Optional;
+
 public interface UserRepository extends JpaRepository<User, Long> {
+
+    @Override
+    @Cacheable(cacheNames = "users", unless = "#result == null")
+    Optional<User> findById(Long id);
+
+    @Override
+    @CachePut(cacheNames = "users", key = "#result.id")
+    <S extends User> S save(S entity);
+
+    // Сбрасывает устаревшего пользователя из кэша после конфликта версий (см. ItemRepository.evictCached)
+    @CacheEvict(cacheNames = "users")
+    default void evictCached(Long id) {
+    }
+
+    // Вещи пользователя удаляются каскадно в БД, поэтому кэш вещей сбрасывается целиком
+    @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = "users"),
+            @CacheEvict(cacheNames = "items", allEntries = true)
+    })
+    void deleteById(Long id);
+
 }
@@ -2,16 +2,20 @@ package ru.practicum.shareit.user.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.errorhandler.model.Violation;
+import ru.practicum.shareit.exceptions.ConflictException;
 import ru.practicum.shareit.exceptions.NotFoundException;
-import ru.practicum.shareit.exceptions.ValidationException;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.dto.UserMapper;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.utility.FieldValidator;
 
 import java.util.List;
-import java.util.regex.Pattern;
 
 @Service
 @RequiredArgsConstructor
@@ -19,6 +23,8 @@ import java.util.regex.Pattern;
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final ItemSearchEngine itemSearchEngine;
 
     @Override
     public User addUser(User user) {
@@ -31,30 +37,43 @@ public class UserServiceImpl implements UserService {
     public User updateUser(User user) {
         // Из-за того, что в контроллер могут приходить структуры с неполным набором полей (Postman-тесты),
         // валидация на уровне контроллера отключена, а здесь проверяются только переданные (not null) поля
-        checkNotBlankField(user.getName(), "Имя");
-        checkNotBlankField(user.getEmail(), "EMail");
-        checkValidEmail(user.getEmail());
+        FieldValidator.checkNotBlankIfPresent(user.getName(), "Имя", "Имя пользователя не может быть пустым!");
+        FieldValidator.checkNotBlankIfPresent(user.getEmail(), "EMail", "EMail пользователя не может быть пустым!");
+        FieldValidator.checkEmailIfPresent(user.getEmail());
 
         User oldUser = getUserById(user.getId());
-        User savedUser = userRepository.save(UserMapper.patchUser(oldUser, user));
+        User savedUser;
+        try {
+            savedUser = userRepository.save(UserMapper.patchUser(oldUser, user));
+        } catch (OptimisticLockingFailureException e) {
+            userRepository.evictCached(user.getId());
+            throw new ConflictException(
+                    new Violation("user", "Пользователь был изменен другим запросом, повторите операцию"));
+        }
         log.info("Информация о пользователе изменена: {}", savedUser);
         return savedUser;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public User getUser(Long userId) {
         User user = getUserById(userId);
         log.info("Получена информация о пользователе c id={}: {}", userId, user);
         return user;
     }
 
+    // Вещи пользователя удаляются в БД каскадно, поэтому из поискового индекса их нужно убрать отдельно
     @Override
+    @Transactional
     public void deleteUser(Long userId) {
+        List<Long> itemIds = itemRepository.findIdsByOwnerId(userId);
         userRepository.deleteById(userId);
+        itemIds.forEach(itemSearchEngine::onItemRemoved);
         log.info("Пользователь с id={} удален", userId);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<User> getAllUsers() {
         List<User> users = userRepository.findAll();
         log.info("Получен список всех пользователей");
@@ -67,25 +86,4 @@ public class UserServiceImpl implements UserService {
                         new Violation("user", String.format("Пользователь с id=%d не найден!", userId))));
     }
 
-    private void checkNotBlankField(String value, String name) {
-        if (value != null && value.isBlank()) {
-            throw new ValidationException(
-                    new Violation(name, name + " пользователя не может быть пустым!"));
-        }
-    }
-
-    // Проверка валидности адреса электронной почты по стандарту RFC 5322
-    private void checkValidEmail(String email) {
-        if (email != null) {
-            boolean isValid = Pattern
-                    .compile("^[a-zA-Z0-9_!#$%&’*+/=?`{|}~^.-]+@[a-zA-Z0-9.-]+$")
-                    .matcher(email)
-                    .matches();
-            if (!isValid) {
-                throw new ValidationException(
-                        new Violation("email", "Некорректный адрес email!"));
-            }
-        }
-    }
-
 }
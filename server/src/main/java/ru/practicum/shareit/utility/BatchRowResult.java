@@ -0,0 +1,39 @@
+package ru.practicum.shareit.utility;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import ru.practicum.shareit.errorhandler.model.Violation;
+import ru.practicum.shareit.exceptions.ValidationException;
+
+import java.util.List;
+
+// Результат обработки одной строки пакетного запроса: либо созданный объект, либо описание ошибки
+@Data
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchRowResult<T> {
+
+    public static final int MAX_BATCH_SIZE = 1000;
+
+    private int row;
+    private T result;
+    private String error;
+
+    public static <T> BatchRowResult<T> success(int row, T result) {
+        return new BatchRowResult<>(row, result, null);
+    }
+
+    public static <T> BatchRowResult<T> failure(int row, String error) {
+        return new BatchRowResult<>(row, null, error);
+    }
+
+    public static void checkBatchSize(List<?> rows) {
+        if (rows == null || rows.isEmpty() || rows.size() > MAX_BATCH_SIZE) {
+            throw new ValidationException(
+                    new Violation("batch",
+                            String.format("Пакет должен содержать от 1 до %d записей", MAX_BATCH_SIZE)));
+        }
+    }
+
+}
@@ -0,0 +1,43 @@
+package ru.practicum.shareit.utility;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.regex.Pattern;
+
+@Configuration
+public class EtagFilterConfig {
+
+    // Шаблоны сервлет-фильтра не различают /items/{id} и /items/search, /requests/{id} и /requests/all,
+    // поэтому путь дополнительно проверяется фильтром: ETag получают только карточки вещи, запроса и пользователя
+    // и список пользователей. Списки и поиск меняются почти при каждом обращении, и буферизация их тела
+    // ради хеша только добавляет копирование
+    private static final Pattern ETAG_PATHS = Pattern.compile("/users(/\\d+)?|/items/\\d+|/requests/\\d+");
+
+    // Часто опрашиваемые GET-ответы получают сильный ETag (хеш тела ответа) и поддерживают If-None-Match.
+    // Карточки вещи и запроса включают комментарии, бронирования и ответы, изменения которых не меняют
+    // версию самой сущности, поэтому для них надёжен только хеш представления.
+    // Если контроллер уже выставил ETag (например, по версии сущности), фильтр использует его.
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> etagFilter() {
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration =
+                new FilterRegistrationBean<>(new ResourceEtagFilter());
+        registration.addUrlPatterns("/users", "/users/*", "/items/*", "/requests/*");
+        registration.setName("etagFilter");
+        return registration;
+    }
+
+    private static class ResourceEtagFilter extends ShallowEtagHeaderFilter {
+
+        @Override
+        protected boolean shouldNotFilter(HttpServletRequest request) {
+            return !ETAG_PATHS.matcher(UrlPathHelper.defaultInstance.getPathWithinApplication(request)).matches();
+        }
+
+    }
+
+}
@@ -0,0 +1,43 @@
+package ru.practicum.shareit.utility;
+
+import ru.practicum.shareit.errorhandler.model.Violation;
+import ru.practicum.shareit.exceptions.ValidationException;
+
+import java.util.regex.Pattern;
+
+// Общие проверки полей пользователей, вещей, бронирований и комментариев.
+// Шаблоны компилируются один раз, а сообщения об ошибках - константы: при успешной проверке ничего не создается
+public class FieldValidator {
+
+    // Проверка валидности адреса электронной почты по стандарту RFC 5322. Копию шаблона использует шлюз,
+    // совпадение проверяет FieldValidatorTest
+    public static final String EMAIL_REGEXP = "^[a-zA-Z0-9_!#$%&’*+/=?`{|}~^.-]+@[a-zA-Z0-9.-]+$";
+
+    private static final Pattern EMAIL_PATTERN = Pattern.compile(EMAIL_REGEXP);
+
+    public static void checkNotNull(Object value, String field, String message) {
+        if (value == null) {
+            throw new ValidationException(new Violation(field, message));
+        }
+    }
+
+    public static void checkNotBlank(String value, String field, String message) {
+        if (value == null || value.isBlank()) {
+            throw new ValidationException(new Violation(field, message));
+        }
+    }
+
+    // Для частичного обновления (PATCH): проверяются только переданные поля
+    public static void checkNotBlankIfPresent(String value, String field, String message) {
+        if (value != null && value.isBlank()) {
+            throw new ValidationException(new Violation(field, message));
+        }
+    }
+
+    public static void checkEmailIfPresent(String email) {
+        if (email != null && !EMAIL_PATTERN.matcher(email).matches()) {
+            throw new ValidationException(new Violation("email", "Некорректный адрес email!"));
+        }
+    }
+
+}
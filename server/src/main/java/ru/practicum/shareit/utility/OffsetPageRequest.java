@@ -0,0 +1,60 @@
+package ru.practicum.shareit.utility;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.Objects;
+
+// Страница, начинающаяся с произвольной записи (from может быть не кратен size)
+public class OffsetPageRequest extends PageRequest {
+
+    private final long offset;
+
+    public OffsetPageRequest(long offset, int size) {
+        super((int) (offset / size), size, Sort.unsorted());
+        this.offset = offset;
+    }
+
+    @Override
+    public long getOffset() {
+        return offset;
+    }
+
+    @Override
+    public PageRequest next() {
+        return new OffsetPageRequest(offset + getPageSize(), getPageSize());
+    }
+
+    @Override
+    public PageRequest previous() {
+        return new OffsetPageRequest(Math.max(offset - getPageSize(), 0), getPageSize());
+    }
+
+    @Override
+    public PageRequest first() {
+        return new OffsetPageRequest(0, getPageSize());
+    }
+
+    @Override
+    public boolean hasPrevious() {
+        return offset > 0;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof OffsetPageRequest)) {
+            return false;
+        }
+        OffsetPageRequest that = (OffsetPageRequest) obj;
+        return offset == that.offset && getPageSize() == that.getPageSize();
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(offset, getPageSize());
+    }
+
+}
@@ -5,15 +5,36 @@ import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.errorhandler.model.Violation;
 import ru.practicum.shareit.exceptions.ValidationException;
 
+import javax.servlet.http.HttpServletResponse;
+import java.util.List;
+import java.util.function.Function;
+
 public class PageCalc {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     public static Pageable getPageable(Integer from, Integer size) {
         if (from == null) {
             return Pageable.unpaged();
         } else if (from < 0) {
             throw new ValidationException(new Violation("from", "Некорректное значение"));
         } else {
-            return PageRequest.of(from / size, size);
+            return new OffsetPageRequest(from, size);
+        }
+    }
+
+    // При выборке по курсору смещение не используется: страница всегда начинается сразу после курсора
+    public static Pageable getPageable(Integer from, Integer size, PageCursor after) {
+        if (after == null) {
+            return getPageable(from, size);
+        }
+        return PageRequest.of(0, size);
+    }
+
+    public static <T> void setNextCursor(HttpServletResponse response, List<T> list, Integer size,
+                                         Function<T, PageCursor> cursor) {
+        if (!list.isEmpty() && list.size() == size) {
+            response.setHeader(NEXT_CURSOR_HEADER, cursor.apply(list.get(list.size() - 1)).encode());
         }
     }
 
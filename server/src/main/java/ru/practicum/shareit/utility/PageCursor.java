@@ -0,0 +1,75 @@
+package ru.practicum.shareit.utility;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import ru.practicum.shareit.errorhandler.model.Violation;
+import ru.practicum.shareit.exceptions.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Base64;
+
+// Непрозрачный курсор для постраничной выборки по ключу (seek pagination):
+// хранит значения ключа сортировки последней записи предыдущей страницы
+@Getter
+@EqualsAndHashCode
+public class PageCursor {
+
+    // Курсор перед первой записью для выборок, упорядоченных по убыванию (время, id)
+    public static final PageCursor DESC_START = new PageCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+    // Курсор перед первой записью для выборок, упорядоченных по возрастанию id
+    public static final PageCursor ASC_START = new PageCursor(null, 0);
+
+    private final LocalDateTime time;
+    private final long id;
+
+    private PageCursor(LocalDateTime time, long id) {
+        this.time = time;
+        this.id = id;
+    }
+
+    public static PageCursor of(long id) {
+        return new PageCursor(null, id);
+    }
+
+    public static PageCursor of(LocalDateTime time, long id) {
+        return new PageCursor(time, id);
+    }
+
+    public String encode() {
+        String value = time == null
+                ? String.valueOf(id)
+                : time.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME) + "," + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PageCursor decodeId(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return of(Long.parseLong(decode(value)));
+        } catch (RuntimeException e) {
+            throw new ValidationException(new Violation("after", "Некорректное значение"));
+        }
+    }
+
+    public static PageCursor decodeTimed(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            String[] parts = decode(value).split(",");
+            return of(LocalDateTime.parse(parts[0], DateTimeFormatter.ISO_LOCAL_DATE_TIME), Long.parseLong(parts[1]));
+        } catch (RuntimeException e) {
+            throw new ValidationException(new Violation("after", "Некорректное значение"));
+        }
+    }
+
+    private static String decode(String value) {
+        return new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+    }
+
+}
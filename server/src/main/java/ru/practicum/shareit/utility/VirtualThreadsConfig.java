@@ -0,0 +1,45 @@
+package ru.practicum.shareit.utility;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Режим shareit.threads=virtual: каждый HTTP-запрос обрабатывается в отдельном виртуальном потоке (JDK 21+)
+// вместо пула потоков Tomcat. Блокирующие вызовы JPA/JDBC освобождают поток-носитель, поэтому число
+// одновременных запросов к базе ограничивает не пул Tomcat, а пул соединений Hikari. Его размер в обоих режимах
+// одинаковый (по умолчанию 10): отдельный размер для режима virtual стоит подбирать только по замерам на JDK 21.
+// Сервер собирается под Java 11, поэтому фабрика виртуальных потоков вызывается через reflection
+@Configuration
+@ConditionalOnProperty(name = "shareit.threads", havingValue = "virtual")
+@Slf4j
+public class VirtualThreadsConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService virtualThreadExecutor() {
+        try {
+            ExecutorService executor = (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null);
+            log.info("Запросы обрабатываются в виртуальных потоках");
+            return executor;
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(String.format(
+                    "Режим shareit.threads=virtual требует JDK 21 или новее, текущая версия: %s",
+                    System.getProperty("java.version")), e);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Не удалось создать исполнитель виртуальных потоков", e);
+        }
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer(
+            ExecutorService virtualThreadExecutor) {
+        return protocolHandler -> protocolHandler.setExecutor(virtualThreadExecutor);
+    }
+
+}
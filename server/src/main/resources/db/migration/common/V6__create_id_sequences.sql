@@ -0,0 +1,7 @@
+-- Идентификаторы выдаются блоками по 50 (оптимизатор pooled в Hibernate), что позволяет пакетную вставку.
+-- Шаг последовательности должен совпадать с allocationSize в @SequenceGenerator сущностей
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS requests_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS items_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS bookings_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS comments_seq START WITH 1 INCREMENT BY 50;
@@ -0,0 +1,18 @@
+-- Идентификаторы выдает только последовательность <table>_seq: столбцы IDENTITY имеют собственный счетчик,
+-- и вставка без id (вне Hibernate) получила бы значение, уже выданное Hibernate из блока последовательности.
+-- Значение по умолчанию nextval не пересекается с блоками Hibernate: по значению N оптимизатор pooled
+-- использует идентификаторы N-49..N, а значение, полученное вставкой, ему уже не достанется
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE users ALTER COLUMN id SET DEFAULT nextval('users_seq');
+
+ALTER TABLE requests ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE requests ALTER COLUMN id SET DEFAULT nextval('requests_seq');
+
+ALTER TABLE items ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE items ALTER COLUMN id SET DEFAULT nextval('items_seq');
+
+ALTER TABLE bookings ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE bookings ALTER COLUMN id SET DEFAULT nextval('bookings_seq');
+
+ALTER TABLE comments ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE comments ALTER COLUMN id SET DEFAULT nextval('comments_seq');
@@ -0,0 +1,31 @@
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- Если в существующих данных уже есть пересекающиеся активные бронирования, ограничение создать нельзя.
+-- Какое из них отменить, решается вручную, поэтому миграция не меняет данные, а завершается ошибкой
+-- со списком пар пересекающихся бронирований
+DO $$
+DECLARE
+  conflicts TEXT;
+BEGIN
+  SELECT string_agg(format('вещь %s: %s и %s', b.item_id, o.id, b.id), '; ' ORDER BY b.item_id, o.id, b.id)
+  INTO conflicts
+  FROM bookings AS b
+  JOIN bookings AS o
+    ON o.item_id = b.item_id
+   AND o.id < b.id
+   AND tsrange(o.start_time, o.end_time) && tsrange(b.start_time, b.end_time)
+  WHERE b.state IN ('WAITING', 'APPROVED')
+    AND o.state IN ('WAITING', 'APPROVED');
+
+  IF conflicts IS NOT NULL THEN
+    RAISE EXCEPTION 'Найдены пересекающиеся активные бронирования: %', conflicts
+      USING HINT = 'Отклоните лишние бронирования (state = REJECTED) и повторите миграцию';
+  END IF;
+END $$;
+
+-- Активные (ожидающие и подтвержденные) бронирования одной вещи не могут пересекаться по времени.
+-- Интервал полуоткрытый [start, end), поэтому бронирование может начинаться в момент окончания предыдущего
+ALTER TABLE bookings
+  ADD CONSTRAINT ex_bookings_item_period
+  EXCLUDE USING gist (item_id WITH =, tsrange(start_time, end_time) WITH &&)
+  WHERE (state IN ('WAITING', 'APPROVED'));
@@ -0,0 +1,7 @@
+-- Для существующих данных последовательности сдвигаются за максимальный id: оптимизатор pooled
+-- по значению N выдает идентификаторы N-49..N, поэтому следующее значение должно быть не меньше MAX(id) + 50
+SELECT setval('users_seq', COALESCE(MAX(id), 0) + 50, false) FROM users;
+SELECT setval('requests_seq', COALESCE(MAX(id), 0) + 50, false) FROM requests;
+SELECT setval('items_seq', COALESCE(MAX(id), 0) + 50, false) FROM items;
+SELECT setval('bookings_seq', COALESCE(MAX(id), 0) + 50, false) FROM bookings;
+SELECT setval('comments_seq', COALESCE(MAX(id), 0) + 50, false) FROM comments;
@@ -0,0 +1,29 @@
+package ru.practicum.shareit;
+
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+// Заготовки тестовых данных: несохраненные сущности с заполненными обязательными полями
+public final class TestFixtures {
+
+    private TestFixtures() {
+    }
+
+    // Имя должно быть уникальным в пределах теста: из него строится email, а он уникален в БД
+    public static User user(String name) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(name + "@example.com");
+        return user;
+    }
+
+    public static Item item(User owner) {
+        Item item = new Item();
+        item.setName("Дрель");
+        item.setDescription("Аккумуляторная дрель");
+        item.setAvailable(true);
+        item.setOwner(owner);
+        return item;
+    }
+
+}
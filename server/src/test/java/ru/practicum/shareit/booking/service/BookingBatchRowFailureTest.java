@@ -0,0 +1,103 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.utility.BatchRowResult;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.when;
+import static ru.practicum.shareit.TestFixtures.item;
+import static ru.practicum.shareit.TestFixtures.user;
+
+// Ограничение БД отклоняет вставку всего пакета; после построчного повтора ошибку получает только
+// конфликтующая строка
+@ExtendWith(MockitoExtension.class)
+class BookingBatchRowFailureTest {
+
+    private static final long CONFLICTING_ITEM_ID = 11L;
+
+    @Mock
+    private ItemRepository itemRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private BookingRepository bookingRepository;
+    @Mock
+    private ItemAvailabilityIndex availabilityIndex;
+    @InjectMocks
+    private BookingServiceImpl bookingService;
+
+    @Test
+    void constraintViolationFailsOnlyConflictingRow() {
+        User owner = withId(user("batch-owner"), 1L);
+        User booker = withId(user("batch-booker"), 2L);
+        Item free = item(owner);
+        free.setId(10L);
+        Item conflicting = item(owner);
+        conflicting.setId(CONFLICTING_ITEM_ID);
+        AtomicLong ids = new AtomicLong(100);
+
+        when(userRepository.findById(booker.getId())).thenReturn(Optional.of(booker));
+        when(itemRepository.findByIdIn(anyCollection())).thenReturn(List.of(free, conflicting));
+        when(bookingRepository.getActiveItemBookingsInPeriod(anyCollection(), any(), any())).thenReturn(List.of());
+        when(bookingRepository.saveAll(anyCollection())).thenThrow(new DataIntegrityViolationException("overlap"));
+        when(bookingRepository.saveAndFlush(any(Booking.class))).thenAnswer(invocation -> {
+            Booking booking = invocation.getArgument(0);
+            if (booking.getItem().getId() == CONFLICTING_ITEM_ID) {
+                throw new DataIntegrityViolationException("overlap");
+            }
+            booking.setId(ids.incrementAndGet());
+            return booking;
+        });
+
+        List<BatchRowResult<BookingResponseDto>> results = bookingService.addBookings(booker.getId(), List.of(
+                bookingDto(free), bookingDto(conflicting), bookingDto(free, 5)));
+
+        assertNotNull(results.get(0).getResult());
+        assertNull(results.get(0).getError());
+        assertNull(results.get(1).getResult());
+        assertEquals("Вещь уже забронирована на указанный период!", results.get(1).getError());
+        assertNotNull(results.get(2).getResult());
+    }
+
+    private static User withId(User user, long id) {
+        user.setId(id);
+        return user;
+    }
+
+    private static BookingDto bookingDto(Item item) {
+        return bookingDto(item, 1);
+    }
+
+    private static BookingDto bookingDto(Item item, int startInDays) {
+        LocalDateTime start = LocalDateTime.now().plusDays(startInDays).withNano(0);
+        BookingDto dto = new BookingDto();
+        dto.setItemId(item.getId());
+        dto.setStart(start.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+        dto.setEnd(start.plusDays(2).format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+        return dto;
+    }
+
+}
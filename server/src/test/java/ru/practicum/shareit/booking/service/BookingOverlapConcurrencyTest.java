@@ -0,0 +1,117 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.exceptions.ConflictException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static ru.practicum.shareit.TestFixtures.user;
+
+@SpringBootTest
+class BookingOverlapConcurrencyTest {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void concurrentBookingsOfSamePeriodSucceedOnce() throws Exception {
+        User owner = addUser("overlap-owner");
+        Item item = addItem(owner);
+        List<User> bookers = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            bookers.add(addUser("overlap-booker-" + i));
+        }
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        LocalDateTime end = start.plusDays(2);
+
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        CountDownLatch startGate = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (User booker : bookers) {
+                futures.add(executor.submit(() -> {
+                    startGate.await();
+                    try {
+                        bookingService.addBooking(bookingDto(booker, item, start, end));
+                        succeeded.incrementAndGet();
+                    } catch (ConflictException e) {
+                        conflicts.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            startGate.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, succeeded.get());
+        assertEquals(THREADS - 1, conflicts.get());
+    }
+
+    @Test
+    void adjacentPeriodsDoNotConflict() {
+        User owner = addUser("adjacent-owner");
+        Item item = addItem(owner);
+        User booker = addUser("adjacent-booker");
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+
+        bookingService.addBooking(bookingDto(booker, item, start, start.plusDays(1)));
+
+        assertDoesNotThrow(() ->
+                bookingService.addBooking(bookingDto(booker, item, start.plusDays(1), start.plusDays(2))));
+    }
+
+    private User addUser(String name) {
+        return userService.addUser(user(name));
+    }
+
+    private Item addItem(User owner) {
+        ItemDto dto = new ItemDto();
+        dto.setName("Дрель");
+        dto.setDescription("Аккумуляторная дрель");
+        dto.setAvailable(true);
+        dto.setOwnerId(owner.getId());
+        return itemService.addItem(dto);
+    }
+
+    private static BookingDto bookingDto(User booker, Item item, LocalDateTime start, LocalDateTime end) {
+        BookingDto dto = new BookingDto();
+        dto.setUserId(booker.getId());
+        dto.setItemId(item.getId());
+        dto.setStart(start.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+        dto.setEnd(end.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+        return dto;
+    }
+
+}
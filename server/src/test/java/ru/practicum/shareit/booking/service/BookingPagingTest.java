@@ -0,0 +1,125 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.utility.PageCalc;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static ru.practicum.shareit.TestFixtures.item;
+import static ru.practicum.shareit.TestFixtures.user;
+
+// Фильтрация по состоянию выполняется в SQL, поэтому from/size должны применяться к уже отфильтрованной выборке
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class BookingPagingTest {
+
+    private static final int FROM = 2;
+    private static final int SIZE = 3;
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private final List<Booking> bookings = new ArrayList<>();
+    private User owner;
+    private User booker;
+
+    @BeforeAll
+    void setUp() {
+        owner = userRepository.save(user("paging-owner"));
+        booker = userRepository.save(user("paging-booker"));
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+
+        for (int i = 0; i < 6; i++) {
+            addBooking(now.minusDays(30).plusHours(i), now.minusDays(30).plusHours(i + 1), BookingState.APPROVED);
+            addBooking(now.minusDays(1).minusHours(i), now.plusDays(1), BookingState.APPROVED);
+            addBooking(now.plusDays(10).plusHours(i), now.plusDays(11), BookingState.APPROVED);
+            addBooking(now.plusDays(20).plusHours(i), now.plusDays(21), BookingState.WAITING);
+            addBooking(now.plusDays(30).plusHours(i), now.plusDays(31), BookingState.REJECTED);
+        }
+        addBooking(now.minusDays(40), now.minusDays(39), BookingState.REJECTED);
+        addBooking(now.minusDays(2), now.plusDays(2), BookingState.WAITING);
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = BookingState.class, names = {"PAST", "CURRENT", "FUTURE", "WAITING", "REJECTED"})
+    void userBookingsArePagedAfterFiltering(BookingState state) {
+        List<BookingResponseDto> page = bookingService.getUserBookings(
+                booker.getId(), state, null, PageCalc.getPageable(FROM, SIZE));
+
+        assertEquals(expectedPage(state), ids(page));
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = BookingState.class, names = {"PAST", "CURRENT", "FUTURE", "WAITING", "REJECTED"})
+    void ownerBookingsArePagedAfterFiltering(BookingState state) {
+        List<BookingResponseDto> page = bookingService.getOwnerBookings(
+                owner.getId(), state, null, PageCalc.getPageable(FROM, SIZE));
+
+        assertEquals(expectedPage(state), ids(page));
+    }
+
+    private List<Long> expectedPage(BookingState state) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> expected = bookings.stream()
+                .filter(matches(state, now))
+                .sorted(Comparator.comparing(Booking::getStart).thenComparing(Booking::getId).reversed())
+                .map(Booking::getId)
+                .collect(Collectors.toList());
+        return expected.subList(FROM, FROM + SIZE);
+    }
+
+    private static Predicate<Booking> matches(BookingState state, LocalDateTime now) {
+        switch (state) {
+            case PAST:
+                return booking -> booking.getEnd().isBefore(now);
+            case CURRENT:
+                return booking -> booking.getStart().isBefore(now) && !booking.getEnd().isBefore(now);
+            case FUTURE:
+                return booking -> !booking.getStart().isBefore(now);
+            default:
+                return booking -> booking.getState() == state;
+        }
+    }
+
+    private static List<Long> ids(List<BookingResponseDto> page) {
+        return page.stream()
+                .map(BookingResponseDto::getId)
+                .collect(Collectors.toList());
+    }
+
+    // Каждое бронирование - на отдельную вещь, чтобы периоды активных бронирований не пересекались
+    private void addBooking(LocalDateTime start, LocalDateTime end, BookingState state) {
+        Booking booking = new Booking();
+        booking.setItem(itemRepository.save(item(owner)));
+        booking.setUser(booker);
+        booking.setStart(start);
+        booking.setEnd(end);
+        booking.setState(state);
+        bookings.add(bookingRepository.save(booking));
+    }
+
+}
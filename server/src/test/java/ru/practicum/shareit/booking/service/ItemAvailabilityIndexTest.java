@@ -0,0 +1,122 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.dto.AvailabilityWindowDto;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ItemAvailabilityIndexTest {
+
+    private static final long ITEM_ID = 1L;
+
+    // Поток, дождавшийся чужой неуспешной загрузки, получает исходное исключение, а не CompletionException
+    @Test
+    void waitingThreadGetsLoadFailureUnwrapped() throws Exception {
+        BookingRepository bookingRepository = mock(BookingRepository.class);
+        ItemAvailabilityIndex index = new ItemAvailabilityIndex(bookingRepository);
+        CountDownLatch loadingStarted = new CountDownLatch(1);
+        CountDownLatch failLoading = new CountDownLatch(1);
+        when(bookingRepository.getApprovedItemBookings(ITEM_ID)).thenAnswer(invocation -> {
+            loadingStarted.countDown();
+            failLoading.await();
+            throw new DataAccessResourceFailureException("БД недоступна");
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> loader = executor.submit(() -> getFreeWindows(index));
+            assertTrue(loadingStarted.await(10, TimeUnit.SECONDS));
+            CountDownLatch waiterStarted = new CountDownLatch(1);
+            Future<?> waiter = executor.submit(() -> {
+                waiterStarted.countDown();
+                return getFreeWindows(index);
+            });
+            assertTrue(waiterStarted.await(10, TimeUnit.SECONDS));
+            // Даем второму потоку дойти до ожидания загрузки
+            Thread.sleep(200);
+            failLoading.countDown();
+
+            assertFailure(loader);
+            assertFailure(waiter);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // Подтверждение не продлевает жизнь записи, а сбрасывает ее после фиксации: следующий запрос
+    // перечитывает интервалы из БД
+    @Test
+    void approvedBookingReloadsPeriodsAfterCommit() {
+        BookingRepository bookingRepository = mock(BookingRepository.class);
+        ItemAvailabilityIndex index = new ItemAvailabilityIndex(bookingRepository);
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime to = from.plusDays(3);
+        Booking booking = booking(from.plusDays(1), from.plusDays(2));
+        when(bookingRepository.getApprovedItemBookings(ITEM_ID)).thenReturn(List.of(), List.of(booking));
+
+        assertEquals(List.of(window(from, to)), index.getFreeWindows(ITEM_ID, from, to));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            index.onBookingApproved(booking);
+            assertEquals(List.of(window(from, to)), index.getFreeWindows(ITEM_ID, from, to));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(List.of(window(from, from.plusDays(1)), window(from.plusDays(2), to)),
+                index.getFreeWindows(ITEM_ID, from, to));
+        verify(bookingRepository, times(2)).getApprovedItemBookings(ITEM_ID);
+    }
+
+    private static Booking booking(LocalDateTime start, LocalDateTime end) {
+        Item item = new Item();
+        item.setId(ITEM_ID);
+        Booking booking = new Booking();
+        booking.setItem(item);
+        booking.setStart(start);
+        booking.setEnd(end);
+        return booking;
+    }
+
+    private static AvailabilityWindowDto window(LocalDateTime start, LocalDateTime end) {
+        return new AvailabilityWindowDto(
+                start.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME), end.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+    }
+
+    private static Object getFreeWindows(ItemAvailabilityIndex index) {
+        LocalDateTime now = LocalDateTime.now();
+        return index.getFreeWindows(ITEM_ID, now, now.plusDays(1));
+    }
+
+    private static void assertFailure(Future<?> future) {
+        ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(10, TimeUnit.SECONDS));
+        assertInstanceOf(DataAccessResourceFailureException.class, e.getCause());
+    }
+
+}
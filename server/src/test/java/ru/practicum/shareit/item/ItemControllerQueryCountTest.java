@@ -0,0 +1,102 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.TestFixtures.item;
+import static ru.practicum.shareit.TestFixtures.user;
+import static ru.practicum.shareit.metrics.QueryCountAssertions.assertMaxQueries;
+
+// Последнее и следующее бронирования вещей загружаются пакетно, поэтому число SQL-запросов не зависит от числа вещей
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ItemControllerQueryCountTest {
+
+    private static final int ITEMS = 10;
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+
+    private User owner;
+    private Item firstItem;
+
+    @BeforeAll
+    void setUp() {
+        owner = userRepository.save(user("query-count-owner"));
+        User booker = userRepository.save(user("query-count-booker"));
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+
+        for (int i = 0; i < ITEMS; i++) {
+            Item item = itemRepository.save(item(owner));
+            if (firstItem == null) {
+                firstItem = item;
+            }
+            addBooking(item, booker, now.minusDays(3), now.minusDays(2));
+            addBooking(item, booker, now.plusDays(2), now.plusDays(3));
+            addComment(item, booker);
+        }
+    }
+
+    @Test
+    void ownerItemsAreLoadedWithConstantNumberOfQueries() {
+        assertMaxQueries("GET /items", 3, () -> mvc.perform(get("/items")
+                        .header("X-Sharer-User-Id", owner.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(ITEMS)));
+    }
+
+    @Test
+    void itemIsLoadedWithConstantNumberOfQueries() {
+        assertMaxQueries("GET /items/{itemId}", 4, () -> mvc.perform(get("/items/{itemId}", firstItem.getId())
+                        .header("X-Sharer-User-Id", owner.getId()))
+                .andExpect(status().isOk()));
+    }
+
+    private void addBooking(Item item, User booker, LocalDateTime start, LocalDateTime end) {
+        Booking booking = new Booking();
+        booking.setItem(item);
+        booking.setUser(booker);
+        booking.setStart(start);
+        booking.setEnd(end);
+        booking.setState(BookingState.APPROVED);
+        bookingRepository.save(booking);
+    }
+
+    private void addComment(Item item, User author) {
+        Comment comment = new Comment();
+        comment.setText("Отличная дрель");
+        comment.setCreated(LocalDateTime.now());
+        comment.setAuthor(author);
+        comment.setItem(item);
+        commentRepository.save(comment);
+    }
+
+}
@@ -0,0 +1,155 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import ru.practicum.shareit.item.model.Item;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class InMemoryItemSearchEngineTest {
+
+    private static final int ITEMS = 500;
+
+    private final AtomicInteger loadedItems = new AtomicInteger();
+    private final Map<Long, Item> byId = new HashMap<>();
+    private ItemRepository itemRepository;
+    private InMemoryItemSearchEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        List<Item> items = new ArrayList<>();
+        for (long id = 1; id <= ITEMS; id++) {
+            items.add(item(id, "Дрель " + id, id % 2 == 0 ? "Аккумуляторная дрель" : "Ударная дрель"));
+        }
+        items.add(item(ITEMS + 1, "Отвертка", "Крестовая отвертка"));
+        items.forEach(item -> byId.put(item.getId(), item));
+
+        itemRepository = mock(ItemRepository.class);
+        when(itemRepository.findByAvailableTrueAndIdGreaterThanOrderById(anyLong(), any()))
+                .thenAnswer(invocation -> {
+                    long afterId = invocation.getArgument(0);
+                    List<Item> slice = items.stream()
+                            .filter(item -> item.getId() > afterId)
+                            .collect(Collectors.toList());
+                    return new SliceImpl<>(slice);
+                });
+        when(itemRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            List<Item> found = new ArrayList<>();
+            for (Long id : invocation.<Iterable<Long>>getArgument(0)) {
+                found.add(byId.get(id));
+            }
+            loadedItems.addAndGet(found.size());
+            return found;
+        });
+
+        engine = new InMemoryItemSearchEngine(itemRepository);
+        engine.rebuild();
+        loadedItems.set(0);
+    }
+
+    @Test
+    void findsSubstringsOfIndexedWords() {
+        assertEquals(List.of(ITEMS + 1L), ids(engine.searchItems("вер", PageRequest.of(0, 10))));
+        assertEquals(List.of(ITEMS + 1L), ids(engine.searchItems("крестовая", PageRequest.of(0, 10))));
+        assertEquals(List.of(1L, 2L, 3L), ids(engine.searchItems("ая", PageRequest.of(0, 3))));
+        assertEquals(List.of(1L, 2L, 3L), ids(engine.searchItems("дрел", PageRequest.of(0, 3))));
+        assertEquals(List.of(), ids(engine.searchItems("пила", PageRequest.of(0, 10))));
+    }
+
+    @Test
+    void phraseSearchLoadsOnlyCandidatesForRequestedPage() {
+        List<Item> page = engine.searchItems("ударная дрель", PageRequest.of(1, 5));
+
+        assertEquals(List.of(11L, 13L, 15L, 17L, 19L), ids(page));
+        assertEquals(10, loadedItems.get());
+    }
+
+    @Test
+    void removedItemIsNotFound() {
+        engine.onItemRemoved(ITEMS + 1);
+
+        assertEquals(List.of(), ids(engine.searchItems("отвертка", PageRequest.of(0, 10))));
+    }
+
+    @Test
+    void savedItemReplacesPreviouslyIndexedWords() {
+        engine.onItemSaved(addItem(ITEMS + 1, "Пила", "Ножовка по дереву"));
+
+        assertEquals(List.of(), ids(engine.searchItems("отвертка", PageRequest.of(0, 10))));
+        assertEquals(List.of(ITEMS + 1L), ids(engine.searchItems("пила", PageRequest.of(0, 10))));
+    }
+
+    @Test
+    void unavailableItemIsRemovedFromIndex() {
+        Item item = addItem(ITEMS + 1, "Отвертка", "Крестовая отвертка");
+        item.setAvailable(false);
+        engine.onItemSaved(item);
+
+        assertEquals(List.of(), ids(engine.searchItems("крестовая", PageRequest.of(0, 10))));
+    }
+
+    @Test
+    void rolledBackItemIsNotIndexed() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            engine.onItemSaved(addItem(ITEMS + 2, "Пила", "Ножовка по дереву"));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(List.of(), ids(engine.searchItems("пила", PageRequest.of(0, 10))));
+    }
+
+    @Test
+    void committedItemIsIndexedAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            engine.onItemSaved(addItem(ITEMS + 2, "Пила", "Ножовка по дереву"));
+            assertEquals(List.of(), ids(engine.searchItems("пила", PageRequest.of(0, 10))));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(List.of(ITEMS + 2L), ids(engine.searchItems("пила", PageRequest.of(0, 10))));
+    }
+
+    private Item addItem(long id, String name, String description) {
+        Item item = item(id, name, description);
+        byId.put(id, item);
+        return item;
+    }
+
+    private static List<Long> ids(Collection<Item> items) {
+        return items.stream().map(Item::getId).collect(Collectors.toList());
+    }
+
+    private static Item item(long id, String name, String description) {
+        Item item = new Item();
+        item.setId(id);
+        item.setName(name);
+        item.setDescription(description);
+        item.setAvailable(true);
+        return item;
+    }
+
+}
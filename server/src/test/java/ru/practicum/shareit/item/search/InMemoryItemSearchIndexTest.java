@@ -0,0 +1,86 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static ru.practicum.shareit.TestFixtures.user;
+
+// Индекс не должен расходиться с БД: слова вещи удаляются по ее id, даже если в кэше лежит вещь с другими
+// полями, а вещи удаленного пользователя уходят из индекса вместе с ним
+@SpringBootTest(properties = "shareit.search.engine=memory")
+class InMemoryItemSearchIndexTest {
+
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void updateWithStaleCachedItemRemovesIndexedWords() {
+        User owner = userService.addUser(user("index-stale-owner"));
+        Item item = itemService.addItem(itemDto(owner, "Рубанок"));
+
+        Item stale = itemRepository.findById(item.getId()).orElseThrow();
+        stale.setName("Стамеска");
+        cacheManager.getCache("items").put(stale.getId(), stale);
+
+        ItemDto patch = new ItemDto();
+        patch.setId(item.getId());
+        patch.setOwnerId(owner.getId());
+        patch.setName("Фуганок");
+        itemService.updateItem(patch);
+
+        assertEquals(List.of(), search("рубанок"));
+        assertEquals(List.of(item.getId()), search("фуганок"));
+    }
+
+    @Test
+    void deletedUserItemsAreRemovedFromIndex() {
+        User deleted = userService.addUser(user("index-deleted-owner"));
+        User remaining = userService.addUser(user("index-remaining-owner"));
+        itemService.addItem(itemDto(deleted, "Стусло"));
+        Item item = itemService.addItem(itemDto(remaining, "Стусло"));
+
+        userService.deleteUser(deleted.getId());
+
+        assertEquals(List.of(item.getId()), search("стусло", PageRequest.of(0, 1)));
+    }
+
+    private List<Long> search(String text) {
+        return search(text, PageRequest.of(0, 10));
+    }
+
+    private List<Long> search(String text, PageRequest pageable) {
+        return itemService.searchItems(text, null, pageable).stream()
+                .map(ItemResponseDto::getId)
+                .collect(Collectors.toList());
+    }
+
+    private static ItemDto itemDto(User owner, String name) {
+        ItemDto dto = new ItemDto();
+        dto.setName(name);
+        dto.setDescription("Столярный инструмент");
+        dto.setAvailable(true);
+        dto.setOwnerId(owner.getId());
+        return dto;
+    }
+
+}
@@ -0,0 +1,60 @@
+package ru.practicum.shareit.item.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.utility.BatchRowResult;
+import ru.practicum.shareit.utility.PageCursor;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static ru.practicum.shareit.TestFixtures.user;
+
+// Строка, которую отклоняет только БД (название длиннее VARCHAR(250)), получает ошибку в своем результате,
+// остальные строки пакета сохраняются
+@SpringBootTest
+class ItemBatchRowFailureTest {
+
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void constraintViolationFailsOnlyOffendingRow() {
+        User owner = userRepository.save(user("batch-items-owner"));
+
+        List<BatchRowResult<ItemResponseDto>> results = itemService.addItems(owner.getId(), List.of(
+                itemDto("Дрель"), itemDto("Д".repeat(300)), itemDto("Пила")));
+
+        assertNotNull(results.get(0).getResult());
+        assertNull(results.get(1).getResult());
+        assertEquals("Вещь не сохранена: данные не соответствуют ограничениям БД", results.get(1).getError());
+        assertNotNull(results.get(2).getResult());
+        assertEquals(List.of("Дрель", "Пила"), itemRepository.getOwnerItems(
+                        owner.getId(), PageCursor.ASC_START.getId(), Pageable.unpaged()).getContent().stream()
+                .map(ItemResponseDto::getName)
+                .collect(Collectors.toList()));
+    }
+
+    private static ItemDto itemDto(String name) {
+        ItemDto dto = new ItemDto();
+        dto.setName(name);
+        dto.setDescription("Инструмент из пакетной загрузки");
+        dto.setAvailable(true);
+        return dto;
+    }
+
+}
@@ -0,0 +1,34 @@
+package ru.practicum.shareit.metrics;
+
+// Проверка числа SQL-запросов в тестах: действие (например, вызов endpoint через MockMvc) выполняется
+// под отдельным счетчиком; при превышении в ошибке перечисляются выполненные запросы
+public final class QueryCountAssertions {
+
+    private QueryCountAssertions() {
+    }
+
+    public static int assertMaxQueries(String endpoint, int maxQueries, ThrowingAction action) {
+        QueryCounter.Counter previous = QueryCounter.current();
+        QueryCounter.Counter counter = QueryCounter.start();
+        try {
+            action.run();
+        } catch (Exception e) {
+            throw new IllegalStateException(endpoint + ": действие завершилось ошибкой", e);
+        } finally {
+            QueryCounter.stop(previous);
+        }
+        if (counter.getCount() > maxQueries) {
+            throw new AssertionError(String.format("%s: выполнено SQL-запросов %d, допустимо не больше %d%n%s",
+                    endpoint, counter.getCount(), maxQueries, counter.formatStatements()));
+        }
+        return counter.getCount();
+    }
+
+    @FunctionalInterface
+    public interface ThrowingAction {
+
+        void run() throws Exception;
+
+    }
+
+}
@@ -0,0 +1,24 @@
+package ru.practicum.shareit.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class QueryCounterTest {
+
+    // Все запросы учитываются в счетчике, для журнала сохраняются только первые MAX_RECORDED_STATEMENTS
+    @Test
+    void formatsOnlyRecordedStatements() {
+        QueryCounter.Counter counter = new QueryCounter.Counter(null);
+        for (int i = 0; i <= QueryCounter.MAX_RECORDED_STATEMENTS; i++) {
+            counter.record("select " + i, i);
+        }
+
+        String[] lines = counter.formatStatements().split(System.lineSeparator());
+        assertEquals(QueryCounter.MAX_RECORDED_STATEMENTS + 1, counter.getCount());
+        assertEquals(QueryCounter.MAX_RECORDED_STATEMENTS, lines.length);
+        assertEquals("(0 мс) select 0", lines[0]);
+        assertEquals("(49 мс) select 49", lines[lines.length - 1]);
+    }
+
+}
@@ -0,0 +1,59 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.TestFixtures.user;
+
+// Вызовы сервисов и репозиториев, выполненные при обработке HTTP-запроса, получают тег endpoint
+// с шаблоном пути, а вызовы сервиса - еще и состояние бронирования из параметров и класс исключения
+@SpringBootTest
+@AutoConfigureMockMvc
+class ServiceMetricsTest {
+
+    private static final String ENDPOINT = "GET /bookings";
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private MeterRegistry registry;
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void serviceAndRepositoryInvocationsAreTaggedWithEndpointAndState() throws Exception {
+        User booker = userRepository.save(user("metrics-booker"));
+
+        mvc.perform(get("/bookings").param("state", "PAST").header("X-Sharer-User-Id", booker.getId()))
+                .andExpect(status().isOk());
+
+        assertTrue(registry.get(ServiceMetricsAspect.METRIC_NAME)
+                .tags("method", "getUserBookings", "endpoint", ENDPOINT, "state", "PAST", "exception", "none")
+                .timer().count() > 0);
+        assertTrue(registry.get("spring.data.repository.invocations")
+                .tags("repository", "BookingRepository", "endpoint", ENDPOINT, "state", "SUCCESS",
+                        "exception", "None")
+                .timer().count() > 0);
+    }
+
+    @Test
+    void failedServiceInvocationIsTaggedWithException() throws Exception {
+        mvc.perform(get("/bookings").param("state", "PAST").header("X-Sharer-User-Id", Long.MAX_VALUE))
+                .andExpect(status().isNotFound());
+
+        assertTrue(registry.get(ServiceMetricsAspect.METRIC_NAME)
+                .tags("method", "getUserBookings", "endpoint", ENDPOINT, "state", "PAST",
+                        "exception", "NotFoundException")
+                .timer().count() > 0);
+    }
+
+}
@@ -0,0 +1,98 @@
+package ru.practicum.shareit.request.service;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.dto.RequestWithAnswerDto;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.utility.PageCalc;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static ru.practicum.shareit.TestFixtures.item;
+import static ru.practicum.shareit.TestFixtures.user;
+import static ru.practicum.shareit.metrics.QueryCountAssertions.assertMaxQueries;
+
+// Ответы на все запросы страницы загружаются одним запросом: пользователь, запросы, ответы - независимо
+// от числа запросов и ответов на них
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ItemRequestQueryCountTest {
+
+    private static final int REQUESTS = 10;
+    private static final int ANSWERS_PER_REQUEST = 2;
+    private static final int MAX_QUERIES = 3;
+
+    @Autowired
+    private ItemRequestService requestService;
+    @Autowired
+    private ItemRequestRepository requestRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private User requester;
+    private User viewer;
+
+    @BeforeAll
+    void setUp() {
+        requester = userRepository.save(user("answers-requester"));
+        viewer = userRepository.save(user("answers-viewer"));
+        User owner = userRepository.save(user("answers-owner"));
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+
+        for (int i = 0; i < REQUESTS; i++) {
+            ItemRequest request = new ItemRequest();
+            request.setDescription("Нужна дрель");
+            request.setUser(requester);
+            request.setCreated(now.minusHours(i));
+            request = requestRepository.save(request);
+            for (int j = 0; j < ANSWERS_PER_REQUEST; j++) {
+                addAnswer(owner, request);
+            }
+        }
+    }
+
+    @Test
+    void ownRequestsAreLoadedWithConstantNumberOfQueries() {
+        List<RequestWithAnswerDto> requests = new ArrayList<>();
+
+        assertMaxQueries("getOwnItemRequests", MAX_QUERIES, () ->
+                requests.addAll(requestService.getOwnItemRequests(requester.getId())));
+
+        assertAnswered(requests);
+    }
+
+    @Test
+    void otherUsersRequestsAreLoadedWithConstantNumberOfQueries() {
+        List<RequestWithAnswerDto> requests = new ArrayList<>();
+
+        assertMaxQueries("getAllItemRequests", MAX_QUERIES, () -> requests.addAll(
+                requestService.getAllItemRequests(viewer.getId(), null, PageCalc.getPageable(0, REQUESTS))));
+
+        assertAnswered(requests);
+    }
+
+    private static void assertAnswered(List<RequestWithAnswerDto> requests) {
+        assertEquals(REQUESTS, requests.size());
+        requests.forEach(request -> assertEquals(ANSWERS_PER_REQUEST, request.getItems().size()));
+    }
+
+    private void addAnswer(User owner, ItemRequest request) {
+        Item item = item(owner);
+        item.setRequestId(request.getId());
+        itemRepository.save(item);
+    }
+
+}
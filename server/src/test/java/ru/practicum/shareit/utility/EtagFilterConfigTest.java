@@ -0,0 +1,80 @@
+package ru.practicum.shareit.utility;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.TestFixtures.item;
+import static ru.practicum.shareit.TestFixtures.user;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EtagFilterConfigTest {
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private ItemRequestRepository requestRepository;
+
+    private User user;
+    private Item item;
+    private ItemRequest request;
+
+    @BeforeAll
+    void setUp() {
+        user = userRepository.save(user("etag-user"));
+        item = itemRepository.save(item(user));
+
+        request = new ItemRequest();
+        request.setDescription("Нужна дрель");
+        request.setUser(user);
+        request.setCreated(LocalDateTime.now());
+        request = requestRepository.save(request);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/users", "/users/{userId}", "/items/{itemId}", "/requests/{requestId}"})
+    void singleResourcesGetEtag(String path) throws Exception {
+        mvc.perform(get(path, id(path)).header("X-Sharer-User-Id", user.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/items", "/items/search?text=дрель", "/requests", "/requests/all"})
+    void listsAndSearchAreNotBuffered(String path) throws Exception {
+        mvc.perform(get(path).header("X-Sharer-User-Id", user.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+    }
+
+    private Long id(String path) {
+        if (path.startsWith("/items")) {
+            return item.getId();
+        }
+        return path.startsWith("/requests") ? request.getId() : user.getId();
+    }
+
+}
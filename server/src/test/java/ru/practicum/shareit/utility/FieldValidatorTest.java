@@ -0,0 +1,29 @@
+package ru.practicum.shareit.utility;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import ru.practicum.shareit.exceptions.ValidationException;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// Наборы адресов совпадают с UserDtoTest шлюза, где проверяется копия EMAIL_REGEXP: если шаблоны
+// разойдутся, один из тестов перестанет проходить
+class FieldValidatorTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"user@example.com", "first.last+tag@mail.example.ru", "user_1@localhost",
+            "a!#$%&*/=?^`{|}~-@example.com", "o’neil@example.com", "user@1.2.3.4"})
+    void acceptsEmail(String email) {
+        assertDoesNotThrow(() -> FieldValidator.checkEmailIfPresent(email));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "userexample.com", "user@", "@example.com", "user@@example.com",
+            "user name@example.com", "user@exa mple.com", "пользователь@example.com", "user@пример.рф",
+            "user@example_com", "user@example.com "})
+    void rejectsEmail(String email) {
+        assertThrows(ValidationException.class, () -> FieldValidator.checkEmailIfPresent(email));
+    }
+
+}
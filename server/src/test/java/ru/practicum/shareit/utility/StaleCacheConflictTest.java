@@ -0,0 +1,88 @@
+package ru.practicum.shareit.utility;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import ru.practicum.shareit.exceptions.ConflictException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static ru.practicum.shareit.TestFixtures.item;
+import static ru.practicum.shareit.TestFixtures.user;
+
+// Читатель может вернуть в кэш прежнюю версию сущности сразу после того, как чужое сохранение ее сбросило.
+// Изменение по такой версии получает конфликт, но сбрасывает устаревшую запись, и повтор проходит
+@SpringBootTest
+class StaleCacheConflictTest {
+
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void itemUpdateSucceedsAfterConflictWithStaleCache() {
+        User owner = userRepository.save(user("stale-item-owner"));
+        Item stale = itemRepository.save(item(owner));
+
+        Item concurrent = item(owner);
+        concurrent.setId(stale.getId());
+        concurrent.setVersion(stale.getVersion());
+        concurrent.setName("Перфоратор");
+        itemRepository.save(concurrent);
+        cacheManager.getCache("items").put(stale.getId(), stale);
+
+        assertThrows(ConflictException.class, () -> itemService.updateItem(itemPatch(owner, stale, "Шуруповерт")));
+
+        Item updated = itemService.updateItem(itemPatch(owner, stale, "Шуруповерт"));
+        assertEquals("Шуруповерт", updated.getName());
+        assertEquals("Шуруповерт", itemRepository.findById(stale.getId()).orElseThrow().getName());
+    }
+
+    @Test
+    void userUpdateSucceedsAfterConflictWithStaleCache() {
+        User stale = userRepository.save(user("stale-user"));
+
+        User concurrent = user("stale-user-renamed");
+        concurrent.setId(stale.getId());
+        concurrent.setVersion(stale.getVersion());
+        userRepository.save(concurrent);
+        cacheManager.getCache("users").put(stale.getId(), stale);
+
+        assertThrows(ConflictException.class, () -> userService.updateUser(userPatch(stale, "Новое имя")));
+
+        User updated = userService.updateUser(userPatch(stale, "Новое имя"));
+        assertEquals("Новое имя", updated.getName());
+        assertEquals("stale-user-renamed@example.com", userService.getUser(stale.getId()).getEmail());
+    }
+
+    private static ItemDto itemPatch(User owner, Item item, String name) {
+        ItemDto dto = new ItemDto();
+        dto.setId(item.getId());
+        dto.setOwnerId(owner.getId());
+        dto.setName(name);
+        return dto;
+    }
+
+    private static User userPatch(User user, String name) {
+        User patch = new User();
+        patch.setId(user.getId());
+        patch.setName(name);
+        return patch;
+    }
+
+}